@@ -0,0 +1,133 @@
+package com.back2261.communityservice.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.infrastructure.entity.Comment;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.CommunityCounters;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import com.back2261.communityservice.infrastructure.entity.TimelineEntry;
+import com.back2261.communityservice.infrastructure.repository.CommunityRepository;
+import com.back2261.communityservice.infrastructure.repository.GamerRepository;
+import com.back2261.communityservice.infrastructure.repository.PostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private GamerRepository gamerRepository;
+
+    private SessionFactoryImplementor sessionFactory;
+    private Gamer gamer;
+    private Community community;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        gamer = new Gamer();
+        gamer.setUserId(UUID.randomUUID().toString());
+        gamer.setGamerUsername("gamer-" + gamer.getUserId());
+        gamer.setEmail(gamer.getUserId() + "@example.com");
+        gamer = gamerRepository.save(gamer);
+
+        community = new Community();
+        community.setName("test");
+        community.setOwner(gamer);
+        communityRepository.save(community);
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void testStartup_whenMissingRegionsFail_CreateEveryRegion() {
+        assertEquals("fail", entityManagerFactory.getProperties().get("hibernate.javax.cache.missing_cache_strategy"));
+        for (String region : List.of("gamer", "avatars", "community", "default-query-results-region")) {
+            assertNotNull(sessionFactory.getCache().getRegion(region), region);
+        }
+        assertEquals(
+                "default-update-timestamps-region",
+                sessionFactory.getCache().getTimestampsCache().getRegion().getName());
+    }
+
+    @Test
+    void testQuerySpaces_whenSchemaQualified_ReportPlainTableNames() {
+        Map<Class<?>, String> tables = Map.of(
+                Community.class, "community",
+                CommunityCounters.class, "community_counters",
+                Post.class, "post",
+                Comment.class, "comment",
+                TimelineEntry.class, "timeline_entry");
+        tables.forEach((entity, table) -> assertTrue(
+                List.of(sessionFactory
+                                .getMappingMetamodel()
+                                .getEntityDescriptor(entity)
+                                .getQuerySpaces())
+                        .contains(table),
+                table));
+    }
+
+    @Test
+    void testAddMember_whenCommunityCached_KeepCommunityAndCachedQueries() {
+        Cache cache = sessionFactory.getCache();
+        gamerRepository.findById(gamer.getUserId());
+        communityRepository.findActiveById(community.getCommunityId());
+        assertTrue(cache.containsEntity(Gamer.class, gamer.getUserId()));
+        assertTrue(cache.containsEntity(Community.class, community.getCommunityId()));
+
+        communityRepository.addMember(community.getCommunityId(), gamer.getUserId());
+
+        assertTrue(cache.containsEntity(Community.class, community.getCommunityId()));
+        assertTrue(cache.containsEntity(Gamer.class, gamer.getUserId()));
+        long queryHits = sessionFactory.getStatistics().getQueryCacheHitCount();
+        communityRepository.findActiveById(community.getCommunityId());
+        assertEquals(queryHits + 1, sessionFactory.getStatistics().getQueryCacheHitCount());
+        assertEquals(
+                1,
+                communityRepository
+                        .findActiveSummary(community.getCommunityId())
+                        .orElseThrow()
+                        .memberCount());
+    }
+
+    @Test
+    void testLike_whenCommunityCached_KeepCommunity() {
+        Post post = new Post();
+        post.setOwner(gamer.getUserId());
+        post.setTitle("test");
+        post.setCommunity(communityRepository.getReferenceById(community.getCommunityId()));
+        UUID postId = postRepository.save(post).getPostId();
+        communityRepository.findActiveById(community.getCommunityId());
+
+        postRepository.like(postId, gamer.getUserId());
+
+        assertTrue(sessionFactory.getCache().containsEntity(Community.class, community.getCommunityId()));
+    }
+}
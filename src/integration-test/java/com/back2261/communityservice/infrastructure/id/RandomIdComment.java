@@ -0,0 +1,26 @@
+package com.back2261.communityservice.infrastructure.id;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+
+/** Baseline for {@link TimeOrderedIdInsertBenchmarkTest}: the comment columns keyed by a random (version 4) UUID. */
+@Entity
+@Table(name = "random_id_comment")
+public class RandomIdComment {
+    @Id
+    @GeneratedValue
+    private UUID commentId;
+
+    private String owner;
+    private String message;
+
+    protected RandomIdComment() {}
+
+    RandomIdComment(String owner, String message) {
+        this.owner = owner;
+        this.message = message;
+    }
+}
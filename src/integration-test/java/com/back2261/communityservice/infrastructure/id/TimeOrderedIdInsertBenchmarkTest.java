@@ -0,0 +1,84 @@
+package com.back2261.communityservice.infrastructure.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.config.SecondLevelCacheConfig;
+import com.back2261.communityservice.infrastructure.entity.Comment;
+import jakarta.persistence.EntityManager;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares inserting comments keyed by {@link TimeOrderedId} with the same rows keyed by random UUIDs. Both go
+ * through Hibernate with the configured JDBC batching, flushing one batch at a time. Throughput and primary key
+ * index size are logged at the end of the run.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+class TimeOrderedIdInsertBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeOrderedIdInsertBenchmarkTest.class);
+
+    private static final int WARMUP_ROWS = 5_000;
+    private static final int ROWS = 50_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkInserts() {
+        run("random_id_comment", WARMUP_ROWS, i -> new RandomIdComment("owner", "comment " + i));
+        run("comment", WARMUP_ROWS, TimeOrderedIdInsertBenchmarkTest::comment);
+
+        Result random = run("random_id_comment", ROWS, i -> new RandomIdComment("owner", "comment " + i));
+        Result timeOrdered = run("comment", ROWS, TimeOrderedIdInsertBenchmarkTest::comment);
+
+        log.info(
+                "random: {} rows/s, pkey {} bytes; time-ordered: {} rows/s, pkey {} bytes",
+                Math.round(random.rowsPerSecond()),
+                random.indexBytes(),
+                Math.round(timeOrdered.rowsPerSecond()),
+                timeOrdered.indexBytes());
+        assertTrue(timeOrdered.indexBytes() < random.indexBytes());
+    }
+
+    private Result run(String table, int rows, IntFunction<Object> entity) {
+        // Truncating gives the table a fresh, empty index; the test transaction rolls it back afterwards.
+        jdbcTemplate.execute("truncate table " + table + " cascade");
+        long start = System.nanoTime();
+        for (int i = 1; i <= rows; i++) {
+            entityManager.persist(entity.apply(i));
+            if (i % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Long indexBytes = jdbcTemplate.queryForObject("select pg_relation_size('" + table + "_pkey')", Long.class);
+        return new Result(rows / seconds, indexBytes);
+    }
+
+    private static Comment comment(int i) {
+        Comment comment = new Comment();
+        comment.setOwner("owner");
+        comment.setMessage("comment " + i);
+        return comment;
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {}
+}
@@ -0,0 +1,139 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.config.SecondLevelCacheConfig;
+import com.back2261.communityservice.infrastructure.entity.Comment;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+class BatchLikeRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private GamerRepository gamerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Gamer gamer;
+    private Community community;
+
+    @BeforeEach
+    void setUp() {
+        gamer = new Gamer();
+        gamer.setUserId(UUID.randomUUID().toString());
+        gamer.setGamerUsername("gamer-" + gamer.getUserId());
+        gamer.setEmail(gamer.getUserId() + "@example.com");
+        gamer = gamerRepository.save(gamer);
+
+        community = new Community();
+        community.setName("test");
+        community.setOwner(gamer);
+        communityRepository.save(community);
+    }
+
+    @Test
+    void testLikeAll_whenSomePostsAlreadyLiked_ReturnOnlyNewLikes() {
+        UUID liked = getPost();
+        UUID fresh = getPost();
+        postRepository.like(liked, gamer.getUserId());
+
+        Set<UUID> result = postRepository.likeAll(gamer.getUserId(), List.of(liked, fresh));
+
+        assertEquals(Set.of(fresh), result);
+        assertEquals(1, count("select like_count from post where post_id = ?", liked));
+        assertEquals(1, count("select like_count from post where post_id = ?", fresh));
+    }
+
+    @Test
+    void testUnlikeAll_whenSomePostsNotLiked_ReturnOnlyRemovedLikes() {
+        UUID liked = getPost();
+        UUID fresh = getPost();
+        postRepository.like(liked, gamer.getUserId());
+
+        Set<UUID> result = postRepository.unlikeAll(gamer.getUserId(), List.of(liked, fresh));
+
+        assertEquals(Set.of(liked), result);
+        assertEquals(0, count("select count(*) from post_likes_join where post_id = ?", liked));
+        assertEquals(0, count("select like_count from post where post_id = ?", liked));
+    }
+
+    @Test
+    void testLikeAllAndUnlikeAll_whenComments_KeepLikeCountInStep() {
+        UUID first = getComment();
+        UUID second = getComment();
+
+        assertEquals(Set.of(first, second), commentRepository.likeAll(gamer.getUserId(), List.of(first, second)));
+        assertEquals(Set.of(), commentRepository.likeAll(gamer.getUserId(), List.of(first)));
+        assertEquals(Set.of(second), commentRepository.unlikeAll(gamer.getUserId(), List.of(second)));
+
+        assertEquals(1, count("select like_count from comment where comment_id = ?", first));
+        assertEquals(0, count("select like_count from comment where comment_id = ?", second));
+    }
+
+    @Test
+    void testLike_whenCommunityDeleted_WriteNothing() {
+        UUID postId = getPost();
+        UUID commentId = getComment();
+        communityRepository.markDeleted(community.getCommunityId());
+
+        assertEquals(0, postRepository.like(postId, gamer.getUserId()));
+        assertEquals(Set.of(), postRepository.likeAll(gamer.getUserId(), List.of(postId)));
+        assertEquals(0, commentRepository.like(commentId, gamer.getUserId()));
+        assertEquals(Set.of(), commentRepository.likeAll(gamer.getUserId(), List.of(commentId)));
+        assertFalse(postRepository.existsActiveById(postId));
+        assertFalse(commentRepository.existsActiveById(commentId));
+    }
+
+    private int count(String sql, UUID id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+
+    private UUID getPost() {
+        Post post = new Post();
+        post.setOwner(gamer.getUserId());
+        post.setTitle("test");
+        post.setCommunity(community);
+        return postRepository.saveAndFlush(post).getPostId();
+    }
+
+    private UUID getComment() {
+        Comment comment = new Comment();
+        comment.setOwner(gamer.getUserId());
+        comment.setMessage("test");
+        commentRepository.save(comment);
+
+        Post post = new Post();
+        post.setOwner(gamer.getUserId());
+        post.setTitle("test");
+        post.setCommunity(community);
+        post.setComments(new HashSet<>(Set.of(comment)));
+        postRepository.saveAndFlush(post);
+        return comment.getCommentId();
+    }
+}
@@ -0,0 +1,162 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.config.SecondLevelCacheConfig;
+import com.back2261.communityservice.infrastructure.entity.Comment;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import com.back2261.communityservice.infrastructure.projection.CommentSummary;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+class CommentPageRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private GamerRepository gamerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Gamer gamer;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        gamer = new Gamer();
+        gamer.setUserId(UUID.randomUUID().toString());
+        gamer.setGamerUsername("gamer-" + gamer.getUserId());
+        gamer.setEmail(gamer.getUserId() + "@example.com");
+        gamer = gamerRepository.save(gamer);
+
+        Community community = new Community();
+        community.setName("test");
+        community.setOwner(gamer);
+        communityRepository.save(community);
+
+        post = new Post();
+        post.setOwner(gamer.getUserId());
+        post.setTitle("test");
+        post.setCommunity(community);
+        post.setComments(new HashSet<>());
+        postRepository.saveAndFlush(post);
+    }
+
+    @Test
+    void testFindMostLikedAfter_whenPaging_ReturnEveryCommentOnceInOrder() {
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(0, getComment(i, i / 2));
+        }
+        getComment(post(), 0, 0);
+
+        List<UUID> read = new ArrayList<>();
+        List<CommentSummary> page = commentRepository.findMostLiked(post.getPostId(), PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            page.forEach(comment -> read.add(comment.commentId()));
+            CommentSummary last = page.get(page.size() - 1);
+            page = commentRepository.findMostLikedAfter(
+                    post.getPostId(), last.likeCount(), last.createdDate(), last.commentId(), PageRequest.of(0, 3));
+        }
+
+        assertEquals(expected, read);
+    }
+
+    @Test
+    void testFindOldestAfter_whenPaging_ReturnEveryCommentOnceInOrder() {
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(getComment(i, 0));
+        }
+
+        List<UUID> read = new ArrayList<>();
+        List<CommentSummary> page = commentRepository.findOldest(post.getPostId(), PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(comment -> read.add(comment.commentId()));
+            CommentSummary last = page.get(page.size() - 1);
+            page = commentRepository.findOldestAfter(
+                    post.getPostId(), last.createdDate(), last.commentId(), PageRequest.of(0, 2));
+        }
+
+        assertEquals(expected, read);
+        assertEquals(
+                expected.get(4),
+                commentRepository
+                        .findNewest(post.getPostId(), PageRequest.of(0, 1))
+                        .get(0)
+                        .commentId());
+    }
+
+    @Test
+    void testReconcilePostIds_whenCommentPredatesColumn_CopyPostIdFromJoinTable() {
+        UUID commentId = getComment(0, 0);
+        jdbcTemplate.update("update comment set post_id = null where comment_id = ?", commentId);
+        assertTrue(commentRepository
+                .findNewest(post.getPostId(), PageRequest.of(0, 10))
+                .isEmpty());
+
+        assertEquals(1, commentRepository.reconcilePostIds());
+
+        assertEquals(
+                List.of(commentId),
+                commentRepository.findNewest(post.getPostId(), PageRequest.of(0, 10)).stream()
+                        .map(CommentSummary::commentId)
+                        .toList());
+        assertEquals(0, commentRepository.reconcilePostIds());
+    }
+
+    private UUID getComment(int minute, int likeCount) {
+        return getComment(post, minute, likeCount);
+    }
+
+    private UUID getComment(Post target, int minute, int likeCount) {
+        Comment comment = new Comment();
+        comment.setOwner(gamer.getUserId());
+        comment.setMessage("test");
+        comment.setPostId(target.getPostId());
+        commentRepository.save(comment);
+        target.getComments().add(comment);
+        postRepository.saveAndFlush(target);
+        jdbcTemplate.update(
+                "update comment set created_date = ?, like_count = ? where comment_id = ?",
+                Timestamp.from(Instant.parse("2023-06-01T00:00:00Z").plusSeconds(60L * minute)),
+                likeCount,
+                comment.getCommentId());
+        return comment.getCommentId();
+    }
+
+    private Post post() {
+        Post other = new Post();
+        other.setOwner(gamer.getUserId());
+        other.setTitle("other");
+        other.setCommunity(post.getCommunity());
+        other.setComments(new HashSet<>());
+        return postRepository.saveAndFlush(other);
+    }
+}
@@ -0,0 +1,98 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.config.SecondLevelCacheConfig;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+class CommunityCountersRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CommunityCountersRepository communityCountersRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private GamerRepository gamerRepository;
+
+    private Gamer gamer;
+    private Community community;
+
+    @BeforeEach
+    void setUp() {
+        gamer = new Gamer();
+        gamer.setUserId(UUID.randomUUID().toString());
+        gamer.setGamerUsername("gamer-" + gamer.getUserId());
+        gamer.setEmail(gamer.getUserId() + "@example.com");
+        gamer = gamerRepository.save(gamer);
+
+        community = new Community();
+        community.setName("test");
+        community.setOwner(gamer);
+        communityRepository.saveAndFlush(community);
+    }
+
+    @Test
+    void testMembership_whenCountersMissing_CreateAndUpdateCounters() {
+        assertEquals(1, communityRepository.addMember(community.getCommunityId(), gamer.getUserId()));
+        assertEquals(0, communityRepository.addMember(community.getCommunityId(), gamer.getUserId()));
+        assertEquals(Optional.of(1), communityCountersRepository.findMemberCount(community.getCommunityId()));
+
+        assertEquals(1, communityRepository.removeMember(community.getCommunityId(), gamer.getUserId()));
+        assertEquals(0, communityRepository.removeMember(community.getCommunityId(), gamer.getUserId()));
+        assertEquals(Optional.of(0), communityCountersRepository.findMemberCount(community.getCommunityId()));
+    }
+
+    @Test
+    void testAddPostCount_whenCountersMissing_NeverGoBelowZero() {
+        communityCountersRepository.addPostCount(community.getCommunityId(), -1);
+        communityCountersRepository.addPostCount(community.getCommunityId(), 1);
+        communityCountersRepository.addPostCount(community.getCommunityId(), 1);
+
+        assertEquals(
+                2,
+                communityRepository
+                        .findActiveSummary(community.getCommunityId())
+                        .orElseThrow()
+                        .postCount());
+    }
+
+    @Test
+    void testReconcileCounters_whenCountersDrift_RecountOnlyDriftedRows() {
+        communityRepository.addMember(community.getCommunityId(), gamer.getUserId());
+        Post post = new Post();
+        post.setOwner(gamer.getUserId());
+        post.setTitle("test");
+        post.setCommunity(community);
+        postRepository.saveAndFlush(post);
+
+        assertTrue(communityCountersRepository.reconcileCounters() >= 1);
+        assertEquals(0, communityCountersRepository.reconcileCounters());
+
+        assertEquals(
+                1,
+                communityRepository
+                        .findActiveSummary(community.getCommunityId())
+                        .orElseThrow()
+                        .postCount());
+        assertEquals(Optional.of(1), communityCountersRepository.findMemberCount(community.getCommunityId()));
+    }
+}
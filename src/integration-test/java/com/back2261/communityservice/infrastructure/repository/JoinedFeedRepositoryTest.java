@@ -0,0 +1,152 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.config.SecondLevelCacheConfig;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+class JoinedFeedRepositoryTest extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JoinedFeedRepositoryTest.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private GamerRepository gamerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private Gamer gamer;
+
+    @BeforeEach
+    void setUp() {
+        gamer = new Gamer();
+        gamer.setUserId(UUID.randomUUID().toString());
+        gamer.setGamerUsername("gamer-" + gamer.getUserId());
+        gamer.setEmail(gamer.getUserId() + "@example.com");
+        gamer = gamerRepository.save(gamer);
+    }
+
+    @Test
+    void testFindJoinedFeedAfter_whenPagingAcrossCommunities_ReturnEveryPostOnceNewestFirst() {
+        Community first = getCommunity(true);
+        Community second = getCommunity(true);
+        Community other = getCommunity(false);
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(0, getPost(i % 2 == 0 ? first : second, i));
+            getPost(other, i);
+        }
+
+        List<UUID> read = new ArrayList<>();
+        List<PostSummary> page = postRepository.findJoinedFeed(gamer.getUserId(), 3);
+        while (!page.isEmpty()) {
+            page.forEach(post -> read.add(post.postId()));
+            PostSummary last = page.get(page.size() - 1);
+            page = postRepository.findJoinedFeedAfter(gamer.getUserId(), last.createdDate(), last.postId(), 3);
+        }
+
+        assertEquals(expected, read);
+    }
+
+    @Test
+    void testFindJoinedFeedNotFannedOut_whenSomePostsFannedOut_ReturnOnlyPulledPosts() {
+        Community community = getCommunity(true);
+        UUID pulled = getPost(community, 0);
+        UUID fannedOut = getPost(community, 1);
+        jdbcTemplate.update("update post set fanned_out = true where post_id = ?", fannedOut);
+
+        List<PostSummary> page = postRepository.findJoinedFeedNotFannedOut(gamer.getUserId(), 10);
+
+        assertEquals(List.of(pulled), page.stream().map(PostSummary::postId).toList());
+    }
+
+    @Test
+    void testFeedSql_whenExplained_SeekPerCommunityIndexWithRowComparison() {
+        for (int c = 0; c < 3; c++) {
+            Community community = getCommunity(true);
+            for (int i = 0; i < 50; i++) {
+                getPost(community, i);
+            }
+        }
+        jdbcTemplate.execute("analyze post");
+        // A few hundred rows fit in one page, so keep the planner from preferring a sequential scan.
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        String sql = new JoinedFeedRepositoryImpl(namedParameterJdbcTemplate, "public").feedSql(false, true);
+
+        List<String> plan = namedParameterJdbcTemplate.queryForList(
+                "explain " + sql,
+                Map.of(
+                        "userId",
+                        gamer.getUserId(),
+                        "createdDate",
+                        Timestamp.from(Instant.now()),
+                        "postId",
+                        UUID.randomUUID(),
+                        "limit",
+                        20),
+                String.class);
+        log.info("Joined feed plan:\n{}", String.join("\n", plan));
+
+        String text = String.join("\n", plan);
+        assertTrue(text.contains("Index Scan Backward using idx_post_community_created"), text);
+        assertTrue(
+                text.contains("Index Cond: ((community_id = m.community_id) AND (ROW(created_date, post_id) < ROW("),
+                text);
+    }
+
+    private Community getCommunity(boolean joined) {
+        Community community = new Community();
+        community.setName("test");
+        community.setOwner(gamer);
+        communityRepository.saveAndFlush(community);
+        if (joined) {
+            communityRepository.addMember(community.getCommunityId(), gamer.getUserId());
+        }
+        return community;
+    }
+
+    private UUID getPost(Community community, int minute) {
+        Post post = new Post();
+        post.setOwner(gamer.getUserId());
+        post.setTitle("test");
+        post.setCommunity(community);
+        postRepository.saveAndFlush(post);
+        jdbcTemplate.update(
+                "update post set created_date = ? where post_id = ?",
+                Timestamp.from(Instant.parse("2023-06-01T00:00:00Z").plusSeconds(60L * minute)),
+                post.getPostId());
+        return post.getPostId();
+    }
+}
@@ -0,0 +1,134 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.config.SecondLevelCacheConfig;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostLikeConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int USERS = 50;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private GamerRepository gamerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testLike_whenConcurrentLikesAndUnlikes_KeepLikeCountExact() throws Exception {
+        List<String> userIds = getGamers();
+        UUID postId = getPost(userIds.get(0));
+
+        AtomicInteger liked = new AtomicInteger();
+        runConcurrently(USERS * 4, i -> liked.addAndGet(postRepository.like(postId, userIds.get(i % USERS))));
+        assertEquals(USERS, liked.get());
+        assertEquals(USERS, likeCount(postId));
+        assertEquals(USERS, likeRows(postId));
+
+        AtomicInteger unliked = new AtomicInteger();
+        runConcurrently(USERS * 4, i -> unliked.addAndGet(postRepository.unlike(postId, userIds.get(i % (USERS / 2)))));
+        assertEquals(USERS / 2, unliked.get());
+        assertEquals(USERS / 2, likeCount(postId));
+        assertEquals(USERS / 2, likeRows(postId));
+
+        runConcurrently(USERS * 8, i -> {
+            String userId = userIds.get(i % USERS);
+            if (i % 3 == 0) {
+                postRepository.unlike(postId, userId);
+            } else {
+                postRepository.like(postId, userId);
+            }
+        });
+        assertEquals(likeRows(postId), likeCount(postId));
+    }
+
+    private int likeCount(UUID postId) {
+        return jdbcTemplate.queryForObject("select like_count from post where post_id = ?", Integer.class, postId);
+    }
+
+    private int likeRows(UUID postId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from post_likes_join where post_id = ?", Integer.class, postId);
+    }
+
+    private List<String> getGamers() {
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            Gamer gamer = new Gamer();
+            gamer.setUserId(UUID.randomUUID().toString());
+            gamer.setGamerUsername("gamer-" + gamer.getUserId());
+            gamer.setEmail(gamer.getUserId() + "@example.com");
+            gamer.setIsBlocked(false);
+            gamerRepository.save(gamer);
+            userIds.add(gamer.getUserId());
+        }
+        return userIds;
+    }
+
+    private UUID getPost(String ownerId) {
+        Community community = new Community();
+        community.setName("test");
+        community.setOwner(gamerRepository.getReferenceById(ownerId));
+        communityRepository.save(community);
+
+        Post post = new Post();
+        post.setOwner(ownerId);
+        post.setTitle("test");
+        post.setBody("test");
+        post.setCommunity(community);
+        return postRepository.save(post).getPostId();
+    }
+
+    private void runConcurrently(int tasks, IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.PostgresIntegrationTest;
+import com.back2261.communityservice.config.SecondLevelCacheConfig;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+class PostVersionRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private GamerRepository gamerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Gamer gamer;
+    private Community community;
+
+    @BeforeEach
+    void setUp() {
+        gamer = new Gamer();
+        gamer.setUserId(UUID.randomUUID().toString());
+        gamer.setGamerUsername("gamer-" + gamer.getUserId());
+        gamer.setEmail(gamer.getUserId() + "@example.com");
+        gamer = gamerRepository.save(gamer);
+
+        community = new Community();
+        community.setName("test");
+        community.setOwner(gamer);
+        communityRepository.saveAndFlush(community);
+        communityRepository.addMember(community.getCommunityId(), gamer.getUserId());
+    }
+
+    @Test
+    void testCommunityVersion_whenCountersMoveBetweenPosts_ReturnDifferentVersion() {
+        UUID first = getPost();
+        UUID second = getPost();
+        setCounters(first, 1, 0);
+        setCounters(second, 0, 1);
+        String communityVersion = communityVersion();
+
+        setCounters(first, 0, 1);
+        setCounters(second, 1, 0);
+
+        assertNotEquals(communityVersion, communityVersion());
+    }
+
+    @Test
+    void testCommunityVersion_whenLikedPostChanges_ReturnDifferentVersion() {
+        UUID first = getPost();
+        UUID second = getPost();
+        jdbcTemplate.update("insert into post_likes_join (post_id, user_id) values (?, ?)", first, gamer.getUserId());
+        String communityVersion = communityVersion();
+
+        jdbcTemplate.update("update post_likes_join set post_id = ? where post_id = ?", second, first);
+
+        assertNotEquals(communityVersion, communityVersion());
+        assertEquals(communityVersion(), communityVersion());
+    }
+
+    private String communityVersion() {
+        return postRepository
+                .findCommunityPostsVersion(community.getCommunityId(), gamer.getUserId())
+                .orElseThrow();
+    }
+
+    private void setCounters(UUID postId, int likeCount, int commentCount) {
+        jdbcTemplate.update(
+                "update post set like_count = ?, comment_count = ? where post_id = ?", likeCount, commentCount, postId);
+    }
+
+    private UUID getPost() {
+        Post post = new Post();
+        post.setOwner(gamer.getUserId());
+        post.setTitle("test");
+        post.setCommunity(community);
+        return postRepository.saveAndFlush(post).getPostId();
+    }
+}
@@ -0,0 +1,162 @@
+package com.back2261.communityservice.domain.mapper;
+
+import com.back2261.communityservice.infrastructure.entity.Comment;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import com.back2261.communityservice.infrastructure.projection.CommentSummary;
+import com.back2261.communityservice.infrastructure.projection.MemberSummary;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import com.back2261.communityservice.interfaces.dto.CommentDto;
+import com.back2261.communityservice.interfaces.dto.GamerDto;
+import com.back2261.communityservice.interfaces.dto.PostDto;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.BeanUtils;
+
+/**
+ * Compares the generated mappers with the {@code BeanUtils.copyProperties} mapping they replaced, for one page
+ * (20), the page size limit (100) and a large community post list (1000).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int count;
+
+    private final PostMapper postMapper = Mappers.getMapper(PostMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+    private final MemberMapper memberMapper = Mappers.getMapper(MemberMapper.class);
+
+    private List<Post> posts;
+    private List<PostSummary> postSummaries;
+    private List<Comment> comments;
+    private List<CommentSummary> commentSummaries;
+    private List<Gamer> gamers;
+    private List<MemberSummary> memberSummaries;
+
+    @Setup
+    public void setUp() {
+        Community community = new Community();
+        community.setName("community");
+        posts = new ArrayList<>(count);
+        postSummaries = new ArrayList<>(count);
+        comments = new ArrayList<>(count);
+        commentSummaries = new ArrayList<>(count);
+        gamers = new ArrayList<>(count);
+        memberSummaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Date date = new Date(i);
+            UUID avatar = UUID.randomUUID();
+
+            Post post = new Post();
+            post.setPostId(UUID.randomUUID());
+            post.setOwner("user" + i);
+            post.setTitle("title " + i);
+            post.setBody("body " + i);
+            post.setPicture("picture" + i + ".png");
+            post.setUpdatedDate(date);
+            post.setLikeCount(i);
+            post.setCommentCount(i);
+            post.setCommunity(community);
+            posts.add(post);
+            postSummaries.add(new PostSummary(
+                    post.getPostId(),
+                    "user" + i,
+                    avatar,
+                    community.getName(),
+                    post.getTitle(),
+                    post.getBody(),
+                    post.getPicture(),
+                    date,
+                    date,
+                    i,
+                    i));
+
+            Comment comment = new Comment();
+            comment.setCommentId(UUID.randomUUID());
+            comment.setOwner("user" + i);
+            comment.setMessage("message " + i);
+            comment.setLikeCount(i);
+            comment.setCreatedDate(date);
+            comment.setUpdatedDate(date);
+            comments.add(comment);
+            commentSummaries.add(new CommentSummary(
+                    comment.getCommentId(), "user" + i, avatar, comment.getMessage(), i, date, date));
+
+            Gamer gamer = new Gamer();
+            gamer.setUserId("user" + i);
+            gamer.setGamerUsername("gamer" + i);
+            gamer.setEmail("gamer" + i + "@example.com");
+            gamer.setAvatar(avatar);
+            gamers.add(gamer);
+            memberSummaries.add(new MemberSummary(gamer.getUserId(), gamer.getGamerUsername(), avatar));
+        }
+    }
+
+    @Benchmark
+    public void postsWithBeanUtils(Blackhole blackhole) {
+        for (Post post : posts) {
+            PostDto postDto = new PostDto();
+            BeanUtils.copyProperties(post, postDto);
+            postDto.setPostId(post.getPostId().toString());
+            postDto.setCommunityName(post.getCommunity().getName());
+            blackhole.consume(postDto);
+        }
+    }
+
+    @Benchmark
+    public void postsWithMapper(Blackhole blackhole) {
+        for (PostSummary post : postSummaries) {
+            blackhole.consume(postMapper.toDto(post));
+        }
+    }
+
+    @Benchmark
+    public void commentsWithBeanUtils(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            CommentDto commentDto = new CommentDto();
+            BeanUtils.copyProperties(comment, commentDto);
+            commentDto.setCommentId(comment.getCommentId().toString());
+            blackhole.consume(commentDto);
+        }
+    }
+
+    @Benchmark
+    public void commentsWithMapper(Blackhole blackhole) {
+        for (CommentSummary comment : commentSummaries) {
+            blackhole.consume(commentMapper.toDto(comment));
+        }
+    }
+
+    @Benchmark
+    public void membersWithBeanUtils(Blackhole blackhole) {
+        for (Gamer gamer : gamers) {
+            GamerDto gamerDto = new GamerDto();
+            BeanUtils.copyProperties(gamer, gamerDto);
+            blackhole.consume(gamerDto);
+        }
+    }
+
+    @Benchmark
+    public void membersWithMapper(Blackhole blackhole) {
+        for (MemberSummary member : memberSummaries) {
+            blackhole.consume(memberMapper.toDto(member));
+        }
+    }
+}
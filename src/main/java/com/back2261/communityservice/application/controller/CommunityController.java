@@ -1,18 +1,24 @@
 package com.back2261.communityservice.application.controller;
 
 import com.back2261.communityservice.domain.service.CommunityService;
+import com.back2261.communityservice.interfaces.enums.CommentSort;
+import com.back2261.communityservice.interfaces.request.BatchLikeRequest;
 import com.back2261.communityservice.interfaces.request.CommunityRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommentRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommunityRequest;
 import com.back2261.communityservice.interfaces.request.PostRequest;
 import com.back2261.communityservice.interfaces.response.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/community")
@@ -20,49 +26,86 @@ import org.springframework.web.bind.annotation.*;
 public class CommunityController {
 
     private final CommunityService communityService;
+    private final ObjectMapper objectMapper;
 
     private static final String AUTHORIZATION = "Authorization";
     private static final String AUTH_MESSAGE = "Authorization field cannot be empty";
 
     @GetMapping("/get/communities")
     public ResponseEntity<CommunityResponse> getCommunities(
-            @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token) {
+            @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(communityService.getCommunitiesVersion(token.substring(7)))) {
+            return null;
+        }
         return new ResponseEntity<>(communityService.getCommunities(token.substring(7)), HttpStatus.OK);
     }
 
     @GetMapping("/get/members/{communityId}")
     public ResponseEntity<MemberResponse> getMembers(
             @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
-            @Valid @PathVariable("communityId") String communityId) {
-        return new ResponseEntity<>(communityService.getMembers(communityId), HttpStatus.OK);
+            @Valid @PathVariable("communityId") String communityId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return new ResponseEntity<>(communityService.getMembers(communityId, cursor, size), HttpStatus.OK);
     }
 
     @GetMapping("/get/posts/{communityId}")
     public ResponseEntity<PostResponse> getCommunitiesPosts(
             @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
-            @Valid @PathVariable("communityId") String communityId) {
+            @Valid @PathVariable("communityId") String communityId,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(communityService.getCommunitiesPostsVersion(token.substring(7), communityId))) {
+            return null;
+        }
         return new ResponseEntity<>(
                 communityService.getCommunitiesPosts(token.substring(7), communityId), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/get/posts/{communityId}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCommunitiesPosts(
+            @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
+            @Valid @PathVariable("communityId") String communityId) {
+        PostResponse envelope = communityService.getCommunitiesPostsEnvelope(token.substring(7), communityId);
+        StreamingResponseBody body = out -> StreamingJson.write(
+                objectMapper,
+                out,
+                envelope,
+                "/body/data/posts",
+                sink -> communityService.streamCommunitiesPosts(token.substring(7), communityId, sink::accept));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/get/post/likes/{postId}")
     public ResponseEntity<MemberResponse> getPostLikes(
             @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
-            @Valid @PathVariable("postId") String postId) {
-        return new ResponseEntity<>(communityService.getPostLikes(postId), HttpStatus.OK);
+            @Valid @PathVariable("postId") String postId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return new ResponseEntity<>(communityService.getPostLikes(postId, cursor, size), HttpStatus.OK);
     }
 
     @GetMapping("/get/comment/likes/{commentId}")
     public ResponseEntity<MemberResponse> getCommentLikes(
             @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
-            @Valid @PathVariable("commentId") String commentId) {
-        return new ResponseEntity<>(communityService.getCommentLikes(commentId), HttpStatus.OK);
+            @Valid @PathVariable("commentId") String commentId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return new ResponseEntity<>(communityService.getCommentLikes(commentId, cursor, size), HttpStatus.OK);
     }
 
     @GetMapping("/get/joined/posts")
     public ResponseEntity<PostResponse> getJoinedCommunitiesPosts(
-            @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token) {
-        return new ResponseEntity<>(communityService.getJoinedCommunitiesPosts(token.substring(7)), HttpStatus.OK);
+            @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(
+                communityService.getJoinedCommunitiesPostsVersion(token.substring(7), cursor, size))) {
+            return null;
+        }
+        return new ResponseEntity<>(
+                communityService.getJoinedCommunitiesPosts(token.substring(7), cursor, size), HttpStatus.OK);
     }
 
     @PostMapping("/create/post")
@@ -128,8 +171,12 @@ public class CommunityController {
     @GetMapping("/get/post/comments/{postId}")
     public ResponseEntity<CommentsResponse> getPostComments(
             @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
-            @Valid @PathVariable String postId) {
-        return new ResponseEntity<>(communityService.getPostComments(postId), HttpStatus.OK);
+            @Valid @PathVariable String postId,
+            @RequestParam(value = "sort", defaultValue = "NEWEST") CommentSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return new ResponseEntity<>(
+                communityService.getPostComments(token.substring(7), postId, sort, cursor, size), HttpStatus.OK);
     }
 
     @PostMapping("/like/post/{postId}")
@@ -159,4 +206,11 @@ public class CommunityController {
             @Valid @PathVariable String commentId) {
         return new ResponseEntity<>(communityService.unlikeComment(token.substring(7), commentId), HttpStatus.OK);
     }
+
+    @PostMapping("/like/batch")
+    public ResponseEntity<BatchLikeResponse> batchLike(
+            @Valid @RequestHeader(AUTHORIZATION) @NotBlank(message = AUTH_MESSAGE) String token,
+            @Valid @RequestBody BatchLikeRequest batchLikeRequest) {
+        return new ResponseEntity<>(communityService.batchLike(token.substring(7), batchLikeRequest), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,74 @@
+package com.back2261.communityservice.application.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Writes a response envelope with one of its arrays produced item by item. The envelope is serialized as usual
+ * except for the array at {@code arrayPath} (a JSON pointer such as {@code /body/data/posts}), whose elements are
+ * written straight to the output as the producer hands them over. The JSON shape is the same as serializing the
+ * complete object, but only the generator buffer and the current item are held in memory.
+ */
+final class StreamingJson {
+
+    private StreamingJson() {}
+
+    static void write(
+            ObjectMapper objectMapper,
+            OutputStream out,
+            Object envelope,
+            String arrayPath,
+            Consumer<Consumer<Object>> producer)
+            throws IOException {
+        ObjectWriter itemWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            write(generator, objectMapper.valueToTree(envelope), "", arrayPath, itemWriter, producer);
+        }
+    }
+
+    private static void write(
+            JsonGenerator generator,
+            JsonNode node,
+            String path,
+            String arrayPath,
+            ObjectWriter itemWriter,
+            Consumer<Consumer<Object>> producer)
+            throws IOException {
+        if (path.equals(arrayPath)) {
+            generator.writeStartArray();
+            try {
+                producer.accept(item -> {
+                    try {
+                        itemWriter.writeValue(generator, item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        } else if (node.isObject()) {
+            generator.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                generator.writeFieldName(field.getKey());
+                write(generator, field.getValue(), path + "/" + field.getKey(), arrayPath, itemWriter, producer);
+            }
+            generator.writeEndObject();
+        } else {
+            itemWriter.writeValue(generator, node);
+        }
+    }
+}
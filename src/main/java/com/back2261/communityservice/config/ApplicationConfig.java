@@ -1,6 +1,6 @@
 package com.back2261.communityservice.config;
 
-import com.back2261.communityservice.infrastructure.repository.GamerRepository;
+import com.back2261.communityservice.domain.cache.GamerPrincipalCache;
 import io.github.GameBuddyDevs.backendlibrary.enums.TransactionCode;
 import io.github.GameBuddyDevs.backendlibrary.exception.BusinessException;
 import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
@@ -19,11 +19,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
-    private final GamerRepository gamerRepository;
+    private final GamerPrincipalCache gamerPrincipalCache;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> gamerRepository
+        return username -> gamerPrincipalCache
                 .findByEmail(username)
                 .orElseThrow(() -> new BusinessException(TransactionCode.USER_NOT_FOUND));
     }
@@ -0,0 +1,51 @@
+package com.back2261.communityservice.config;
+
+import com.back2261.communityservice.domain.limit.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "community.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${community.bulkhead.read.initial-limit:20}") int initialLimit,
+            @Value("${community.bulkhead.read.min-limit:4}") int minLimit,
+            @Value("${community.bulkhead.read.max-limit:100}") int maxLimit,
+            @Value("${community.bulkhead.max-wait:PT0.05S}") Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter("read", initialLimit, minLimit, maxLimit, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${community.bulkhead.write.initial-limit:10}") int initialLimit,
+            @Value("${community.bulkhead.write.min-limit:2}") int minLimit,
+            @Value("${community.bulkhead.write.max-limit:50}") int maxLimit,
+            @Value("${community.bulkhead.max-wait:PT0.05S}") Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter("write", initialLimit, minLimit, maxLimit, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer bulkheadConfigurer(
+            AdaptiveConcurrencyLimiter readLimiter,
+            AdaptiveConcurrencyLimiter writeLimiter,
+            ObjectMapper objectMapper) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new BulkheadInterceptor(readLimiter, writeLimiter, objectMapper))
+                        .addPathPatterns("/community/**");
+            }
+        };
+    }
+}
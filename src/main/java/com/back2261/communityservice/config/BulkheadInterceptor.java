@@ -0,0 +1,83 @@
+package com.back2261.communityservice.config;
+
+import com.back2261.communityservice.domain.limit.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.GameBuddyDevs.backendlibrary.base.Status;
+import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageResponse;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Routes every community request through the read or the write bulkhead, so a burst of slow feed reads cannot take
+ * the capacity that likes and comment creation need. A request that does not get a slot is answered with 503 and
+ * {@code Retry-After} before it reaches the service layer.
+ */
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ACQUIRED_AT = BulkheadInterceptor.class.getName() + ".acquiredAt";
+    private static final String LIMITER = BulkheadInterceptor.class.getName() + ".limiter";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler)
+            throws IOException, InterruptedException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // the slot taken on the first dispatch is still held
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        long acquiredAt = limiter.tryAcquire();
+        if (acquiredAt < 0) {
+            reject(response);
+            return false;
+        }
+        request.setAttribute(LIMITER, limiter);
+        request.setAttribute(ACQUIRED_AT, acquiredAt);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            Exception ex) {
+        AdaptiveConcurrencyLimiter limiter = (AdaptiveConcurrencyLimiter) request.getAttribute(LIMITER);
+        if (limiter == null) {
+            return;
+        }
+        request.removeAttribute(LIMITER);
+        limiter.release((Long) request.getAttribute(ACQUIRED_AT));
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        DefaultMessageResponse body = new DefaultMessageResponse();
+        Status status = new Status();
+        status.setMessage("Service is busy, please retry");
+        status.setSuccess(false);
+        status.setCode(String.valueOf(HttpStatus.SERVICE_UNAVAILABLE.value()));
+        body.setStatus(status);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -1,6 +1,6 @@
 package com.back2261.communityservice.config;
 
-import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
+import com.back2261.communityservice.domain.cache.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,7 +20,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
 
     @Override
@@ -37,10 +37,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         jwt = authorizationHeader.substring(7);
-        email = jwtService.extractUsername(jwt);
+        email = verifiedTokenCache.extractUsername(jwt);
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-            if (Boolean.TRUE.equals(jwtService.validateToken(jwt, userDetails)) && userDetails.isAccountNonLocked()) {
+            if (verifiedTokenCache.validateToken(jwt, userDetails) && userDetails.isAccountNonLocked()) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,118 @@
+package com.back2261.communityservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache for the read-mostly reference entities {@code Gamer}, {@code Avatars} and
+ * {@code Community}. Each region is a local Caffeine cache bounded by {@code community.cache.<region>.maximum-size}
+ * and expired after {@code community.cache.<region>.time-to-live}, which bounds staleness for rows written by other
+ * services or instances; writes from this service evict or update the entry themselves. Collections such as members
+ * and likes carry no {@code @Cache} annotation and are always read from the database. Per-region hit ratios are
+ * published as {@code community.cache.hit.ratio}, next to the {@code hibernate.*} statistics meters.
+ *
+ * <p>Native writes name the tables they touch with {@code HINT_NATIVE_SPACES}, so they evict only the regions and
+ * cached queries built on those tables; a native write without spaces would empty every region. Entity persisters
+ * report table names qualified with {@code hibernate.default_schema} when it is set, so each entity also lists its
+ * plain table name in {@code @Synchronize}, which is the name the hints use.
+ *
+ * <p>Member and post counters are kept out of the cached {@code Community} state, in the uncached
+ * {@code community_counters} table. Joins, leaves and new posts write only that table, so they no longer evict the
+ * community entry or the cached queries over {@code community}. The trade-off is that counts are never served from
+ * this cache: the directory summaries join the counters table (the directory keeps its own cache), and the fan-out
+ * decision reads the member count by primary key once per new post.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> ENTITY_REGIONS = List.of("gamer", "avatars", "community");
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${community.cache.gamer.maximum-size:50000}") long gamerSize,
+            @Value("${community.cache.gamer.time-to-live:PT5M}") Duration gamerTtl,
+            @Value("${community.cache.avatars.maximum-size:1000}") long avatarsSize,
+            @Value("${community.cache.avatars.time-to-live:PT1H}") Duration avatarsTtl,
+            @Value("${community.cache.community.maximum-size:10000}") long communitySize,
+            @Value("${community.cache.community.time-to-live:PT10M}") Duration communityTtl,
+            @Value("${community.cache.queries.maximum-size:10000}") long queriesSize,
+            @Value("${community.cache.queries.time-to-live:PT5M}") Duration queriesTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        createRegion(cacheManager, "gamer", bounded(gamerSize, gamerTtl));
+        createRegion(cacheManager, "avatars", bounded(avatarsSize, avatarsTtl));
+        createRegion(cacheManager, "community", bounded(communitySize, communityTtl));
+        createRegion(cacheManager, QUERY_RESULTS_REGION, bounded(queriesSize, queriesTtl));
+        // Table timestamps must outlive every cached query result, so this region is neither bounded nor expired.
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics =
+                    entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : ENTITY_REGIONS) {
+                registerHitRatio(registry, region, () -> statistics.getDomainDataRegionStatistics(region));
+            }
+            registerHitRatio(
+                    registry, QUERY_RESULTS_REGION, () -> statistics.getQueryRegionStatistics(QUERY_RESULTS_REGION));
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    private static void createRegion(
+            CacheManager cacheManager, String region, CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+
+    private static void registerHitRatio(
+            MeterRegistry registry, String region, Supplier<CacheRegionStatistics> regionStatistics) {
+        Gauge.builder("community.cache.hit.ratio", () -> hitRatio(regionStatistics.get()))
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? 0 : (double) regionStatistics.getHitCount() / requests;
+    }
+}
@@ -1,5 +1,6 @@
 package com.back2261.communityservice.config;
 
+import io.github.GameBuddyDevs.backendlibrary.enums.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,6 +31,8 @@ public class SecurityConfig {
         http.authorizeHttpRequests()
                 .requestMatchers("/api-docs/**", "/api-docs.yaml", "/swagger-ui/**", "/swagger-ui.html")
                 .permitAll()
+                .requestMatchers("/actuator/**")
+                .hasAuthority(Role.ADMIN.name())
                 .anyRequest()
                 .authenticated();
 
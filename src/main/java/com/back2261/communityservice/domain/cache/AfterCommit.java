@@ -0,0 +1,23 @@
+package com.back2261.communityservice.domain.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Defers a cache update until the surrounding transaction commits, or runs it at once outside a transaction. */
+final class AfterCommit {
+
+    private AfterCommit() {}
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
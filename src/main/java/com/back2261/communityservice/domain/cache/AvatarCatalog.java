@@ -0,0 +1,80 @@
+package com.back2261.communityservice.domain.cache;
+
+import com.back2261.communityservice.infrastructure.repository.AvatarsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resident copy of the avatars reference table. Request paths only read the immutable snapshot; the database is hit
+ * at startup, on the refresh schedule and when {@link #invalidate()} is called.
+ */
+@Slf4j
+@Component
+public class AvatarCatalog {
+
+    private final AvatarsRepository avatarsRepository;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Map<UUID, String> images = Collections.emptyMap();
+
+    public AvatarCatalog(AvatarsRepository avatarsRepository, MeterRegistry meterRegistry) {
+        this.avatarsRepository = avatarsRepository;
+        this.hits = meterRegistry.counter("community.avatars.catalog.requests", "result", "hit");
+        this.misses = meterRegistry.counter("community.avatars.catalog.requests", "result", "miss");
+        Gauge.builder("community.avatars.catalog.size", this, AvatarCatalog::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(
+            initialDelayString = "${community.avatars.refresh-interval:PT10M}",
+            fixedDelayString = "${community.avatars.refresh-interval:PT10M}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Avatar catalog refresh failed, keeping the previous snapshot", e);
+        }
+    }
+
+    public void invalidate() {
+        refresh();
+    }
+
+    public String getImage(UUID avatarId) {
+        if (avatarId == null) {
+            return null;
+        }
+        Map<UUID, String> snapshot = images;
+        if (snapshot.containsKey(avatarId)) {
+            hits.increment();
+            return snapshot.get(avatarId);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    private void refresh() {
+        Map<UUID, String> loaded = new HashMap<>();
+        avatarsRepository.findAll().forEach(avatar -> loaded.put(avatar.getId(), avatar.getImage()));
+        images = Collections.unmodifiableMap(loaded);
+    }
+}
@@ -0,0 +1,27 @@
+package com.back2261.communityservice.domain.cache;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "avatars")
+@RequiredArgsConstructor
+public class AvatarCatalogEndpoint {
+
+    private final AvatarCatalog avatarCatalog;
+
+    @ReadOperation
+    public Map<String, Integer> size() {
+        return Map.of("size", avatarCatalog.size());
+    }
+
+    @WriteOperation
+    public Map<String, Integer> invalidate() {
+        avatarCatalog.invalidate();
+        return size();
+    }
+}
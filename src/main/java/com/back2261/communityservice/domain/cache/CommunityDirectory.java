@@ -0,0 +1,118 @@
+package com.back2261.communityservice.domain.cache;
+
+import com.back2261.communityservice.domain.mapper.CommunityMapper;
+import com.back2261.communityservice.infrastructure.projection.CommunitySummary;
+import com.back2261.communityservice.infrastructure.repository.CommunityRepository;
+import com.back2261.communityservice.interfaces.dto.CommunityDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resident directory of active communities shared by all requests. Entries are immutable {@link CommunitySummary}
+ * rows ordered by id, which for time-ordered ids is creation order. A create, delete, join, leave or post count
+ * change re-reads only that community after the transaction commits; the whole directory is reloaded on
+ * {@code community.directory.refresh-interval} to pick up changes made by other instances. The per-user
+ * {@code isJoined} flag is overlaid from the user's joined ids in {@link MembershipIndex}, read once per listing, so
+ * listing does no database work in the steady state.
+ */
+@Slf4j
+@Component
+public class CommunityDirectory {
+
+    private final CommunityRepository communityRepository;
+    private final MembershipIndex membershipIndex;
+    private final CommunityMapper communityMapper;
+
+    private volatile ConcurrentNavigableMap<UUID, CommunitySummary> entries = new ConcurrentSkipListMap<>();
+
+    public CommunityDirectory(
+            CommunityRepository communityRepository,
+            MembershipIndex membershipIndex,
+            CommunityMapper communityMapper,
+            MeterRegistry meterRegistry) {
+        this.communityRepository = communityRepository;
+        this.membershipIndex = membershipIndex;
+        this.communityMapper = communityMapper;
+        Gauge.builder("community.directory.size", this, CommunityDirectory::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(
+            initialDelayString = "${community.directory.refresh-interval:PT5M}",
+            fixedDelayString = "${community.directory.refresh-interval:PT5M}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Community directory refresh failed, keeping the previous snapshot", e);
+        }
+    }
+
+    public void refresh() {
+        ConcurrentNavigableMap<UUID, CommunitySummary> loaded = new ConcurrentSkipListMap<>();
+        communityRepository.findActiveSummaries().forEach(summary -> loaded.put(summary.communityId(), summary));
+        entries = loaded;
+    }
+
+    /** Re-reads one community once the current transaction commits; a deleted community leaves the directory. */
+    public void changed(UUID communityId) {
+        AfterCommit.run(() -> {
+            ConcurrentNavigableMap<UUID, CommunitySummary> current = entries;
+            communityRepository
+                    .findActiveSummary(communityId)
+                    .ifPresentOrElse(summary -> current.put(communityId, summary), () -> current.remove(communityId));
+        });
+    }
+
+    public List<CommunityDto> list(String userId) {
+        Set<UUID> joined = membershipIndex.joinedIds(userId);
+        List<CommunityDto> communityDtos = new ArrayList<>();
+        for (CommunitySummary summary : entries.values()) {
+            CommunityDto communityDto = communityMapper.toDto(summary);
+            communityDto.setIsJoined(joined.contains(summary.communityId()));
+            communityDtos.add(communityDto);
+        }
+        return communityDtos;
+    }
+
+    /** Ids of the listed communities the user belongs to, in directory order. */
+    public Set<UUID> joinedIds(String userId) {
+        Set<UUID> joined = membershipIndex.joinedIds(userId);
+        Set<UUID> listed = new LinkedHashSet<>();
+        for (UUID communityId : entries.keySet()) {
+            if (joined.contains(communityId)) {
+                listed.add(communityId);
+            }
+        }
+        return listed;
+    }
+
+    /** Content hash of the shared part of the directory; equal on every instance that holds the same rows. */
+    public long fingerprint() {
+        long fingerprint = 1;
+        for (CommunitySummary summary : entries.values()) {
+            fingerprint = 31 * fingerprint + summary.hashCode();
+        }
+        return fingerprint;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
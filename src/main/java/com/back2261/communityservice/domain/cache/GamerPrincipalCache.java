@@ -0,0 +1,42 @@
+package com.back2261.communityservice.domain.cache;
+
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.repository.GamerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived, size-bounded cache of authenticated gamers keyed by email. The TTL bounds how long a change such as
+ * blocking a user takes to be seen by this service.
+ */
+@Component
+public class GamerPrincipalCache {
+
+    private final GamerRepository gamerRepository;
+    private final Cache<String, Gamer> principals;
+
+    public GamerPrincipalCache(
+            GamerRepository gamerRepository,
+            @Value("${community.principals.ttl:PT30S}") Duration ttl,
+            @Value("${community.principals.maximum-size:10000}") long maximumSize) {
+        this.gamerRepository = gamerRepository;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public Optional<Gamer> findByEmail(String email) {
+        return Optional.ofNullable(
+                principals.get(email, key -> gamerRepository.findByEmail(key).orElse(null)));
+    }
+
+    /** Drops the cached gamer once the surrounding transaction commits, so the next request reloads it. */
+    public void evict(String email) {
+        AfterCommit.run(() -> principals.invalidate(email));
+    }
+}
@@ -0,0 +1,186 @@
+package com.back2261.communityservice.domain.cache;
+
+import com.back2261.communityservice.infrastructure.repository.CommunityRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resident index of community members, one concurrent id set per community, loaded the first time a community is
+ * checked. Join and leave update it after their transaction commits. A user missing from the set is looked up in
+ * {@code community_members_join} before being denied, which covers joins handled by another instance. A set is
+ * reloaded at the latest {@code community.membership.max-staleness} after it was loaded, which bounds how long a
+ * leave on another instance goes unseen, and {@link #verify()} repairs any remaining drift. The cache is bounded by
+ * the total number of member ids it holds.
+ *
+ * <p>The communities each user joined are kept the same way, keyed by user and loaded in one query, so a listing can
+ * mark every joined community without checking them one by one. A join on another instance shows up there once the
+ * user's set is reloaded.
+ */
+@Slf4j
+@Component
+public class MembershipIndex {
+
+    private final CommunityRepository communityRepository;
+    private final Cache<UUID, Members> members;
+    private final Cache<String, Set<UUID>> joined;
+    private final Counter repairs;
+
+    public MembershipIndex(
+            CommunityRepository communityRepository,
+            MeterRegistry meterRegistry,
+            @Value("${community.membership.maximum-members:1000000}") long maximumMembers,
+            @Value("${community.membership.maximum-users:100000}") long maximumUsers,
+            @Value("${community.membership.max-staleness:PT1M}") Duration maxStaleness) {
+        this.communityRepository = communityRepository;
+        this.members = Caffeine.newBuilder()
+                .maximumWeight(maximumMembers)
+                .weigher((UUID communityId, Members resident) -> Math.max(1, resident.userIds.size()))
+                .expireAfter(MembershipIndex.<UUID, Members>expireAfterLoad(maxStaleness))
+                .recordStats()
+                .build();
+        this.joined = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfter(MembershipIndex.<String, Set<UUID>>expireAfterLoad(maxStaleness))
+                .recordStats()
+                .build();
+        this.repairs = meterRegistry.counter("community.membership.index.repairs");
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "community.membership");
+        CaffeineCacheMetrics.monitor(meterRegistry, joined, "community.membership.joined");
+    }
+
+    public boolean isMember(UUID communityId, String userId) {
+        Members resident = members.get(communityId, id -> new Members(load(id)));
+        if (resident.userIds.contains(userId)) {
+            return true;
+        }
+        long version = resident.version.get();
+        if (!communityRepository.existsMember(communityId, userId)) {
+            return false;
+        }
+        // Joined elsewhere; record it unless a local join or leave changed the set during the lookup.
+        members.asMap().computeIfPresent(communityId, (id, current) -> {
+            if (current == resident && current.version.get() == version) {
+                current.userIds.add(userId);
+            }
+            return current;
+        });
+        joined.asMap().computeIfPresent(userId, (id, communityIds) -> {
+            communityIds.add(communityId);
+            return communityIds;
+        });
+        return true;
+    }
+
+    /** Ids of the communities the user belongs to; loaded once per user and kept up to date by joins and leaves. */
+    public Set<UUID> joinedIds(String userId) {
+        return Collections.unmodifiableSet(joined.get(userId, this::loadJoined));
+    }
+
+    public void added(UUID communityId, String userId) {
+        AfterCommit.run(() -> members.asMap().computeIfPresent(communityId, (id, resident) -> {
+            resident.userIds.add(userId);
+            resident.version.incrementAndGet();
+            return resident;
+        }));
+        AfterCommit.run(() -> joined.asMap().computeIfPresent(userId, (id, communityIds) -> {
+            communityIds.add(communityId);
+            return communityIds;
+        }));
+    }
+
+    public void removed(UUID communityId, String userId) {
+        AfterCommit.run(() -> members.asMap().computeIfPresent(communityId, (id, resident) -> {
+            resident.userIds.remove(userId);
+            resident.version.incrementAndGet();
+            return resident;
+        }));
+        AfterCommit.run(() -> joined.asMap().computeIfPresent(userId, (id, communityIds) -> {
+            communityIds.remove(communityId);
+            return communityIds;
+        }));
+    }
+
+    public void evict(UUID communityId) {
+        AfterCommit.run(() -> members.invalidate(communityId));
+    }
+
+    /**
+     * Reloads every resident community and replaces the ones that differ from the database. A set that a join or
+     * leave changed while it was being reloaded is left alone, since the reload may predate that change.
+     */
+    public int verify() {
+        int repaired = 0;
+        for (UUID communityId : Set.copyOf(members.asMap().keySet())) {
+            Members resident = members.getIfPresent(communityId);
+            if (resident == null) {
+                continue;
+            }
+            long version = resident.version.get();
+            Set<String> actual = load(communityId);
+            Members replaced = members.asMap().computeIfPresent(communityId, (id, current) -> {
+                boolean unchanged = current == resident && current.version.get() == version;
+                return unchanged && !current.userIds.equals(actual) ? new Members(actual) : current;
+            });
+            if (replaced != null && replaced != resident) {
+                repairs.increment();
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private Set<String> load(UUID communityId) {
+        Set<String> userIds = ConcurrentHashMap.newKeySet();
+        userIds.addAll(communityRepository.findMemberIds(communityId));
+        return userIds;
+    }
+
+    private Set<UUID> loadJoined(String userId) {
+        Set<UUID> communityIds = ConcurrentHashMap.newKeySet();
+        communityIds.addAll(communityRepository.findJoinedCommunityIds(userId));
+        return communityIds;
+    }
+
+    /** Expires a set a fixed time after it was loaded; joins, leaves and repairs do not extend its life. */
+    private static <K, V> Expiry<K, V> expireAfterLoad(Duration maxStaleness) {
+        long nanos = maxStaleness.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(K key, V value, long currentTime) {
+                return nanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static final class Members {
+        private final Set<String> userIds;
+        private final AtomicLong version = new AtomicLong();
+
+        private Members(Set<String> userIds) {
+            this.userIds = userIds;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.back2261.communityservice.domain.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the outcome of bearer token verification keyed by the SHA-256 digest of the token. An entry lives until the
+ * token's own {@code exp}, so a token is parsed and its signature checked once no matter how many requests carry it.
+ * Concurrent requests with the same uncached token wait for a single verification. Failed verifications are not
+ * cached. Setting {@code community.tokens.cache-enabled} to false delegates every call to {@link JwtService}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${community.tokens.cache-enabled:true}") boolean enabled,
+            @Value("${community.tokens.maximum-size:50000}") long maximumSize) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "community.tokens");
+    }
+
+    public String extractUsername(String token) {
+        if (!enabled) {
+            return jwtService.extractUsername(token);
+        }
+        return verify(token).email();
+    }
+
+    public boolean validateToken(String token, UserDetails userDetails) {
+        if (!enabled) {
+            return Boolean.TRUE.equals(jwtService.validateToken(token, userDetails));
+        }
+        VerifiedToken verified = verify(token);
+        return Objects.equals(verified.email(), userDetails.getUsername())
+                && (verified.expiresAt() == null || verified.expiresAt().isAfter(Instant.now()));
+    }
+
+    private VerifiedToken verify(String token) {
+        return tokens.get(digest(token), key -> {
+            String email = jwtService.extractUsername(token);
+            return new VerifiedToken(email, readExpiration(token));
+        });
+    }
+
+    /** Reads {@code exp} from a token whose signature {@link JwtService} has already verified. */
+    private Instant readExpiration(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode exp = claims.get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(String email, Instant expiresAt) {}
+
+    /** Tokens without a readable {@code exp} are verified but not kept. */
+    private static final class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return 0;
+            }
+            return Math.max(
+                    0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
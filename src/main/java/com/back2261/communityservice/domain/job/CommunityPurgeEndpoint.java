@@ -0,0 +1,24 @@
+package com.back2261.communityservice.domain.job;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "communitypurge")
+@RequiredArgsConstructor
+public class CommunityPurgeEndpoint {
+
+    private final CommunityPurgeJob communityPurgeJob;
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("pending", communityPurgeJob.pending());
+        progress.put("current", communityPurgeJob.progress());
+        return progress;
+    }
+}
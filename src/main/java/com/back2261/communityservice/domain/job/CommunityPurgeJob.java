@@ -0,0 +1,130 @@
+package com.back2261.communityservice.domain.job;
+
+import com.back2261.communityservice.domain.cache.GamerPrincipalCache;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.repository.CommunityCountersRepository;
+import com.back2261.communityservice.infrastructure.repository.CommunityRepository;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToIntBiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Purges communities flagged as deleted. Dependent rows go first, in chunks of {@code community.purge.chunk-size}
+ * with one short transaction per chunk, and the community row is removed last. Each run stops after
+ * {@code community.purge.max-chunks-per-run} chunks so the scheduler thread is not held. All state lives in the
+ * database, so a purge interrupted by a restart continues where it stopped. A community whose purge fails is logged
+ * and skipped for this run, and starts again from the first step on the next run.
+ */
+@Slf4j
+@Component
+public class CommunityPurgeJob {
+
+    private final CommunityRepository communityRepository;
+    private final CommunityCountersRepository communityCountersRepository;
+    private final GamerPrincipalCache gamerPrincipalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Map<String, ToIntBiFunction<UUID, Integer>> steps = new LinkedHashMap<>();
+    private volatile Progress progress;
+
+    public CommunityPurgeJob(
+            CommunityRepository communityRepository,
+            CommunityCountersRepository communityCountersRepository,
+            GamerPrincipalCache gamerPrincipalCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${community.purge.chunk-size:1000}") int chunkSize,
+            @Value("${community.purge.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.communityRepository = communityRepository;
+        this.communityCountersRepository = communityCountersRepository;
+        this.gamerPrincipalCache = gamerPrincipalCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        steps.put("commentLikes", communityRepository::purgeCommentLikes);
+        steps.put("comments", communityRepository::purgeComments);
+        steps.put("postLikes", communityRepository::purgePostLikes);
+        steps.put("timeline", communityRepository::purgeTimeline);
+        steps.put("posts", communityRepository::purgePosts);
+        steps.put("members", communityRepository::purgeMembers);
+    }
+
+    @Scheduled(fixedDelayString = "${community.purge.interval:PT30S}")
+    public void purge() {
+        int budget = maxChunksPerRun;
+        for (UUID communityId : communityRepository.findDeletedIds()) {
+            try {
+                budget = purge(communityId, budget);
+            } catch (RuntimeException e) {
+                // A row written after its step ran can fail a later step, so start this community over next time.
+                log.error("Failed to purge community {}, restarting it from the first step", communityId, e);
+                progress = null;
+            }
+            if (budget == 0) {
+                return;
+            }
+        }
+    }
+
+    public List<UUID> pending() {
+        return communityRepository.findDeletedIds();
+    }
+
+    public Progress progress() {
+        return progress;
+    }
+
+    private int purge(UUID communityId, int budget) {
+        Progress current = progress != null && progress.communityId().equals(communityId)
+                ? progress
+                : new Progress(communityId, null, 0, Instant.now());
+        boolean resuming = current.step() != null;
+        for (Map.Entry<String, ToIntBiFunction<UUID, Integer>> step : steps.entrySet()) {
+            if (resuming && !step.getKey().equals(current.step())) {
+                continue;
+            }
+            resuming = false;
+            int deleted;
+            do {
+                current = new Progress(communityId, step.getKey(), current.deletedRows(), current.startedAt());
+                progress = current;
+                if (budget == 0) {
+                    return 0;
+                }
+                deleted = step.getValue().applyAsInt(communityId, chunkSize);
+                budget--;
+                current =
+                        new Progress(communityId, step.getKey(), current.deletedRows() + deleted, current.startedAt());
+                progress = current;
+            } while (deleted > 0);
+        }
+        transactionTemplate.executeWithoutResult(status -> removeCommunity(communityId));
+        log.info("Purged community {} ({} rows)", communityId, current.deletedRows());
+        progress = null;
+        return budget;
+    }
+
+    /** Unlinks the community from its owner's collection, deletes the row through the entity mapping, then its counters. */
+    private void removeCommunity(UUID communityId) {
+        communityRepository.findById(communityId).ifPresent(community -> {
+            Gamer owner = community.getOwner();
+            if (owner != null && owner.getOwnedCommunities() != null) {
+                owner.getOwnedCommunities().removeIf(owned -> communityId.equals(owned.getCommunityId()));
+                gamerPrincipalCache.evict(owner.getEmail());
+            }
+            communityRepository.delete(community);
+        });
+        communityCountersRepository.deleteCounters(communityId);
+    }
+
+    public record Progress(UUID communityId, String step, long deletedRows, Instant startedAt) {}
+}
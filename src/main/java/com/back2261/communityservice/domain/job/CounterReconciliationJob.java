@@ -0,0 +1,65 @@
+package com.back2261.communityservice.domain.job;
+
+import com.back2261.communityservice.domain.cache.CommunityDirectory;
+import com.back2261.communityservice.infrastructure.repository.CommentRepository;
+import com.back2261.communityservice.infrastructure.repository.CommunityCountersRepository;
+import com.back2261.communityservice.infrastructure.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs drift in the denormalized member, post and comment counters by recounting the join tables, and in the
+ * comment's copy of its post id. Only rows whose stored value differs are rewritten. The job also runs once at
+ * startup, which backfills communities created before the counter table existed and comments created before the
+ * post id column existed, instead of leaving them wrong until the first scheduled run.
+ */
+@Slf4j
+@Component
+public class CounterReconciliationJob {
+
+    private final CommunityCountersRepository communityCountersRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CommunityDirectory communityDirectory;
+    private final boolean reconcileOnStartup;
+
+    public CounterReconciliationJob(
+            CommunityCountersRepository communityCountersRepository,
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            CommunityDirectory communityDirectory,
+            @Value("${community.counters.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.communityCountersRepository = communityCountersRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.communityDirectory = communityDirectory;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${community.counters.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        int communities = communityCountersRepository.reconcileCounters();
+        int posts = postRepository.reconcileCommentCounts();
+        int comments = commentRepository.reconcilePostIds();
+        if (communities > 0) {
+            communityDirectory.refresh();
+        }
+        if (communities > 0 || posts > 0) {
+            log.info("Reconciled counters of {} communities and {} posts", communities, posts);
+        }
+        if (comments > 0) {
+            log.info("Reconciled post ids of {} comments", comments);
+        }
+    }
+}
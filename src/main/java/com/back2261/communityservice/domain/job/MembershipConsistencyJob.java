@@ -0,0 +1,24 @@
+package com.back2261.communityservice.domain.job;
+
+import com.back2261.communityservice.domain.cache.MembershipIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Compares the resident membership index with {@code community_members_join} and repairs what drifted. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MembershipConsistencyJob {
+
+    private final MembershipIndex membershipIndex;
+
+    @Scheduled(fixedDelayString = "${community.membership.verify-interval:PT15M}")
+    public void verify() {
+        int repaired = membershipIndex.verify();
+        if (repaired > 0) {
+            log.warn("Repaired membership index of {} communities", repaired);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.back2261.communityservice.domain.job;
+
+import com.back2261.communityservice.domain.timeline.HomeTimeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Cuts every materialized home timeline back to its most recent entries. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimelineTrimJob {
+
+    private final HomeTimeline homeTimeline;
+
+    @Scheduled(cron = "${community.timeline.trim-cron:0 30 * * * *}")
+    public void trim() {
+        if (!homeTimeline.isEnabled()) {
+            return;
+        }
+        int trimmed = homeTimeline.trim();
+        if (trimmed > 0) {
+            log.info("Trimmed {} timeline entries", trimmed);
+        }
+    }
+}
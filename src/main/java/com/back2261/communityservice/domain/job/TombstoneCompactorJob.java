@@ -0,0 +1,66 @@
+package com.back2261.communityservice.domain.job;
+
+import com.back2261.communityservice.infrastructure.repository.CommentRepository;
+import com.back2261.communityservice.infrastructure.repository.PostRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.function.ToIntBiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes posts and comments whose tombstone is older than {@code community.tombstones.retention}, together with
+ * their likes, comment links and timeline entries. Until then a tombstoned row can be restored by clearing its flag.
+ * Work is done in chunks of {@code community.tombstones.chunk-size}, one short transaction each, and a run stops
+ * after {@code community.tombstones.max-chunks-per-run} chunks.
+ */
+@Slf4j
+@Component
+public class TombstoneCompactorJob {
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public TombstoneCompactorJob(
+            CommentRepository commentRepository,
+            PostRepository postRepository,
+            @Value("${community.tombstones.retention:PT24H}") Duration retention,
+            @Value("${community.tombstones.chunk-size:1000}") int chunkSize,
+            @Value("${community.tombstones.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${community.tombstones.compact-interval:PT5M}")
+    public void compact() {
+        Date cutoff = Date.from(Instant.now().minus(retention));
+        int[] budget = {maxChunksPerRun};
+        int comments = drain(commentRepository::compact, cutoff, budget);
+        int posts = drain(postRepository::compact, cutoff, budget);
+        if (comments > 0 || posts > 0) {
+            log.info("Compacted {} tombstoned comments and {} tombstoned posts", comments, posts);
+        }
+    }
+
+    private int drain(ToIntBiFunction<Date, Integer> chunk, Date cutoff, int[] budget) {
+        int total = 0;
+        while (budget[0] > 0) {
+            budget[0]--;
+            int removed = chunk.applyAsInt(cutoff, chunkSize);
+            total += removed;
+            if (removed < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,344 @@
+package com.back2261.communityservice.domain.like;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Opt-in write-behind buffer for post likes. Like and unlike events are coalesced in memory per (post, user), striped
+ * by post id, and written in one JDBC batch in its own transaction on a short interval, or on the scheduler thread as
+ * soon as {@code community.likes.buffer.flush-threshold} events are pending. An unlike that follows a buffered like
+ * (or the reverse) cancels it. Events being written stay visible until their transaction commits, so readers merging
+ * through {@link #pendingDelta(UUID)} and {@link #pendingState(UUID, String)} never miss them. The buffer drains on
+ * shutdown.
+ *
+ * <p>The flushed statements are the same conflict-ignoring inserts and guarded counter updates used by the direct
+ * path, so a duplicate that slips past the buffer cannot skew {@code likeCount}. At most
+ * {@code community.likes.buffer.max-pending} events are held; past that, or while the database rejects flushes, a new
+ * event is answered with {@link Outcome#FULL} and the caller writes it directly.
+ */
+@Slf4j
+@Component
+public class PostLikeBuffer {
+
+    private static final String LIKE_SQL = "with inserted as (insert into %1$spost_likes_join (post_id, user_id) "
+            + "select p.post_id, ? from %1$spost p join %1$scommunity m on m.community_id = p.community_id "
+            + "where p.post_id = ? and not p.deleted and not m.deleted "
+            + "on conflict do nothing returning post_id) "
+            + "update %1$spost p set like_count = coalesce(p.like_count, 0) + 1 "
+            + "where p.post_id in (select post_id from inserted)";
+    private static final String UNLIKE_SQL = "with deleted as (delete from %1$spost_likes_join "
+            + "where post_id = ? and user_id = ? returning post_id) "
+            + "update %1$spost p set like_count = greatest(coalesce(p.like_count, 0) - 1, 0) "
+            + "where p.post_id in (select post_id from deleted)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int flushThreshold;
+    private final int maxPending;
+    private final String likeSql;
+    private final String unlikeSql;
+    private final Stripe[] stripes;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    public PostLikeBuffer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            @Value("${community.likes.buffer.enabled:false}") boolean enabled,
+            @Value("${community.likes.buffer.flush-threshold:1000}") int flushThreshold,
+            @Value("${community.likes.buffer.max-pending:100000}") int maxPending,
+            @Value("${community.likes.buffer.stripes:16}") int stripeCount,
+            @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.flushThreshold = flushThreshold;
+        this.maxPending = maxPending;
+        String prefix = schema == null || schema.isBlank() ? "" : schema + ".";
+        this.likeSql = LIKE_SQL.formatted(prefix);
+        this.unlikeSql = UNLIKE_SQL.formatted(prefix);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers a like. {@code likedInDatabase} is consulted, outside the stripe lock, only when nothing is pending or
+     * being written for the pair.
+     *
+     * @return {@link Outcome#UNCHANGED} when the user already likes the post
+     */
+    public Outcome like(UUID postId, String userId, BooleanSupplier likedInDatabase) {
+        return record(postId, userId, true, likedInDatabase);
+    }
+
+    /** Buffers an unlike; unliking a post that is not liked is {@link Outcome#UNCHANGED}. */
+    public Outcome unlike(UUID postId, String userId, BooleanSupplier likedInDatabase) {
+        return record(postId, userId, false, likedInDatabase);
+    }
+
+    /** Net change to {@code likeCount} that is buffered but not yet written. */
+    public int pendingDelta(UUID postId) {
+        Stripe stripe = stripe(postId);
+        stripe.lock.lock();
+        try {
+            return delta(stripe.events.get(postId)) + delta(stripe.inFlight.get(postId));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Net count change of every post with buffered or in-flight events, plus the user's pending like states, in post
+     * id order. Version stamps read from the database include it so they move as soon as a like is buffered.
+     */
+    public String pendingVersion(String userId) {
+        Map<UUID, String> pendingPosts = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Set<UUID> postIds = new HashSet<>(stripe.events.keySet());
+                postIds.addAll(stripe.inFlight.keySet());
+                for (UUID postId : postIds) {
+                    int delta = delta(stripe.events.get(postId)) + delta(stripe.inFlight.get(postId));
+                    Boolean buffered = state(stripe.events, postId, userId);
+                    Boolean liked = buffered != null ? buffered : state(stripe.inFlight, postId, userId);
+                    if (delta != 0 || liked != null) {
+                        pendingPosts.put(postId, delta + ":" + liked);
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return pendingPosts.toString();
+    }
+
+    /** Buffered like state of the pair, or null when the database is current. */
+    public Boolean pendingState(UUID postId, String userId) {
+        Stripe stripe = stripe(postId);
+        stripe.lock.lock();
+        try {
+            Boolean buffered = state(stripe.events, postId, userId);
+            return buffered != null ? buffered : state(stripe.inFlight, postId, userId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${community.likes.buffer.flush-interval:PT1S}")
+    public void flush() {
+        flushRequested.set(false);
+        if (!enabled || pending.get() == 0 || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushStripes();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushStripes();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushStripes() {
+        for (Stripe stripe : stripes) {
+            Map<UUID, Map<String, Boolean>> drained;
+            stripe.lock.lock();
+            try {
+                if (stripe.events.isEmpty()) {
+                    continue;
+                }
+                drained = stripe.events;
+                stripe.inFlight = drained;
+                stripe.events = new HashMap<>();
+            } finally {
+                stripe.lock.unlock();
+            }
+            write(stripe, drained);
+        }
+    }
+
+    private Outcome record(UUID postId, String userId, boolean liked, BooleanSupplier likedInDatabase) {
+        Stripe stripe = stripe(postId);
+        Boolean inDatabase = null;
+        long landedAt = 0;
+        while (true) {
+            stripe.lock.lock();
+            try {
+                Map<String, Boolean> events = stripe.events.get(postId);
+                Boolean buffered = events == null ? null : events.get(userId);
+                if (buffered != null) {
+                    if (buffered == liked) {
+                        return Outcome.UNCHANGED;
+                    }
+                    events.remove(userId);
+                    if (events.isEmpty()) {
+                        stripe.events.remove(postId);
+                    }
+                    pending.decrementAndGet();
+                    return Outcome.CHANGED;
+                }
+                Boolean inFlight = state(stripe.inFlight, postId, userId);
+                // A flush that landed since the database was read may have changed the pair, so read it again.
+                if (inFlight != null || (inDatabase != null && landedAt == stripe.landed)) {
+                    boolean current = inFlight != null ? inFlight : inDatabase;
+                    if (current == liked) {
+                        return Outcome.UNCHANGED;
+                    }
+                    // An event behind an in-flight write must stay ordered after it, so only fresh pairs fall back.
+                    if (inFlight == null && pending.get() >= maxPending) {
+                        return Outcome.FULL;
+                    }
+                    stripe.events.computeIfAbsent(postId, id -> new HashMap<>()).put(userId, liked);
+                    break;
+                }
+                landedAt = stripe.landed;
+            } finally {
+                stripe.lock.unlock();
+            }
+            inDatabase = likedInDatabase.getAsBoolean();
+        }
+        if (pending.incrementAndGet() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            // Never flush on the request thread, where the batch would join the caller's transaction.
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+        return Outcome.CHANGED;
+    }
+
+    private void write(Stripe stripe, Map<UUID, Map<String, Boolean>> drained) {
+        List<Object[]> likes = new ArrayList<>();
+        List<Object[]> unlikes = new ArrayList<>();
+        drained.forEach((postId, events) -> events.forEach((userId, liked) -> {
+            if (Boolean.TRUE.equals(liked)) {
+                likes.add(new Object[] {userId, postId});
+            } else {
+                unlikes.add(new Object[] {postId, userId});
+            }
+        }));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!likes.isEmpty()) {
+                    jdbcTemplate.batchUpdate(likeSql, likes);
+                }
+                if (!unlikes.isEmpty()) {
+                    jdbcTemplate.batchUpdate(unlikeSql, unlikes);
+                }
+            });
+            pending.addAndGet(-(likes.size() + unlikes.size()));
+            landed(stripe);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} buffered likes, keeping them", likes.size() + unlikes.size(), e);
+            requeue(stripe, drained);
+        }
+    }
+
+    private void landed(Stripe stripe) {
+        stripe.lock.lock();
+        try {
+            stripe.inFlight = Map.of();
+            stripe.landed++;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Puts failed events back. An event recorded for the same pair during the flush reverses the failed one, so the
+     * two cancel out.
+     */
+    private void requeue(Stripe stripe, Map<UUID, Map<String, Boolean>> drained) {
+        stripe.lock.lock();
+        try {
+            drained.forEach((postId, events) -> events.forEach((userId, liked) -> {
+                Map<String, Boolean> current = stripe.events.computeIfAbsent(postId, id -> new HashMap<>());
+                if (current.remove(userId) != null) {
+                    pending.addAndGet(-2);
+                } else {
+                    current.put(userId, liked);
+                }
+                if (current.isEmpty()) {
+                    stripe.events.remove(postId);
+                }
+            }));
+            stripe.inFlight = Map.of();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static int delta(Map<String, Boolean> events) {
+        return events == null
+                ? 0
+                : events.values().stream().mapToInt(liked -> liked ? 1 : -1).sum();
+    }
+
+    private static Boolean state(Map<UUID, Map<String, Boolean>> events, UUID postId, String userId) {
+        Map<String, Boolean> postEvents = events.get(postId);
+        return postEvents == null ? null : postEvents.get(userId);
+    }
+
+    private Stripe stripe(UUID postId) {
+        return stripes[Math.floorMod(postId.hashCode(), stripes.length)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<UUID, Map<String, Boolean>> events = new HashMap<>();
+        private Map<UUID, Map<String, Boolean>> inFlight = Map.of();
+        private long landed;
+    }
+
+    /** Result of recording a like or unlike. */
+    public enum Outcome {
+        /** The event was buffered, or it cancelled the opposite buffered event. */
+        CHANGED,
+        /** The pair is already in the requested state. */
+        UNCHANGED,
+        /** The buffer is at {@code max-pending}; nothing was recorded and the caller must write the event itself. */
+        FULL
+    }
+}
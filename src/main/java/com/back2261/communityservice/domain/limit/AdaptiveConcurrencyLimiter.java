@@ -0,0 +1,120 @@
+package com.back2261.communityservice.domain.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit for one group of requests that adapts to latency. Each completed request feeds its round-trip
+ * time into a gradient: while recent latency stays close to the long-term average the limit grows by roughly its
+ * square root, and when latency climbs above it the limit shrinks in proportion. The limit only grows while at
+ * least half of it is in use, so an idle group does not build up headroom it has never tested.
+ *
+ * <p>A caller that finds the limit reached waits up to {@code maxWait} for a slot and is rejected after that, so
+ * an overloaded group sheds load quickly instead of queueing on the connection pool. Published meters, tagged with
+ * {@code group}: {@code community.bulkhead.inflight}, {@code community.bulkhead.limit},
+ * {@code community.bulkhead.rejected} and {@code community.bulkhead.queue.wait}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Counter rejected;
+    private final Timer queueWait;
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(
+            String group, int initialLimit, int minLimit, int maxLimit, Duration maxWait, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.limit = initialLimit;
+        Gauge.builder("community.bulkhead.inflight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("community.bulkhead.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .tag("group", group)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("community.bulkhead.rejected")
+                .tag("group", group)
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("community.bulkhead.queue.wait")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, waiting up to {@code maxWait} for one.
+     *
+     * @return the start time to hand back to {@link #release(long)}, or -1 when the request must be shed
+     */
+    public long tryAcquire() throws InterruptedException {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return -1;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        long acquired = System.nanoTime();
+        queueWait.record(acquired - start, TimeUnit.NANOSECONDS);
+        return acquired;
+    }
+
+    /** Frees the slot taken at {@code acquiredAt} and adjusts the limit with the observed round-trip time. */
+    public void release(long acquiredAt) {
+        long rtt = Math.max(1, System.nanoTime() - acquiredAt);
+        lock.lock();
+        try {
+            update(rtt, inFlight);
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight;
+    }
+
+    private void update(long rtt, int observedInFlight) {
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / LONG_WINDOW;
+        if (longRtt / rtt > 2) {
+            // latency dropped well below the long-term average; let the average catch up
+            longRtt = rtt * 2.0;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, longRtt / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        if (target > limit && observedInFlight < limit / 2) {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
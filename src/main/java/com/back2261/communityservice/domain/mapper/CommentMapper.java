@@ -0,0 +1,15 @@
+package com.back2261.communityservice.domain.mapper;
+
+import com.back2261.communityservice.infrastructure.projection.CommentSummary;
+import com.back2261.communityservice.interfaces.dto.CommentDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface CommentMapper {
+
+    @Mapping(target = "avatar", ignore = true)
+    @Mapping(target = "isLiked", ignore = true)
+    CommentDto toDto(CommentSummary comment);
+}
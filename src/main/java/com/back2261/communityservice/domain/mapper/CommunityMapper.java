@@ -0,0 +1,14 @@
+package com.back2261.communityservice.domain.mapper;
+
+import com.back2261.communityservice.infrastructure.projection.CommunitySummary;
+import com.back2261.communityservice.interfaces.dto.CommunityDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface CommunityMapper {
+
+    @Mapping(target = "isJoined", ignore = true)
+    CommunityDto toDto(CommunitySummary community);
+}
@@ -0,0 +1,15 @@
+package com.back2261.communityservice.domain.mapper;
+
+import com.back2261.communityservice.infrastructure.projection.MemberSummary;
+import com.back2261.communityservice.interfaces.dto.GamerDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface MemberMapper {
+
+    @Mapping(target = "avatar", ignore = true)
+    @Mapping(target = "isOwner", ignore = true)
+    GamerDto toDto(MemberSummary member);
+}
@@ -0,0 +1,16 @@
+package com.back2261.communityservice.domain.mapper;
+
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import com.back2261.communityservice.interfaces.dto.PostDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+/** Generated at compile time; the avatar image and the caller's like state are filled in by the service. */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface PostMapper {
+
+    @Mapping(target = "avatar", ignore = true)
+    @Mapping(target = "isLiked", ignore = true)
+    PostDto toDto(PostSummary post);
+}
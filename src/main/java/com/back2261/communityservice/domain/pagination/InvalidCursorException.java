@@ -0,0 +1,19 @@
+package com.back2261.communityservice.domain.pagination;
+
+/**
+ * Raised when a client passes a page cursor that this service did not issue, either because it is not valid Base64,
+ * has the wrong number of keys, or carries keys that do not parse. Reported as a bad request rather than as a missing
+ * resource.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public static final String CODE = "INVALID_CURSOR";
+
+    public InvalidCursorException() {
+        super(CODE);
+    }
+
+    public InvalidCursorException(Throwable cause) {
+        super(CODE, cause);
+    }
+}
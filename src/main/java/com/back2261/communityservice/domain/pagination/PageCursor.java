@@ -0,0 +1,47 @@
+package com.back2261.communityservice.domain.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque keyset cursor shared by the paginated endpoints. A cursor is the URL-safe Base64 form of the sort keys of
+ * the last row on a page, so clients can pass it back unchanged to fetch the next page.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {}
+
+    public static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public static String encode(Object... keys) {
+        String joined =
+                String.join(SEPARATOR, Arrays.stream(keys).map(String::valueOf).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int keyCount) {
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+        String[] keys = joined.split(Pattern.quote(SEPARATOR), -1);
+        if (keys.length != keyCount) {
+            throw new InvalidCursorException();
+        }
+        return keys;
+    }
+}
@@ -1,25 +1,47 @@
 package com.back2261.communityservice.domain.service;
 
+import com.back2261.communityservice.interfaces.dto.PostDto;
+import com.back2261.communityservice.interfaces.enums.CommentSort;
+import com.back2261.communityservice.interfaces.request.BatchLikeRequest;
 import com.back2261.communityservice.interfaces.request.CommunityRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommentRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommunityRequest;
 import com.back2261.communityservice.interfaces.request.PostRequest;
 import com.back2261.communityservice.interfaces.response.*;
 import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageResponse;
+import java.util.function.Consumer;
 
 public interface CommunityService {
 
     CommunityResponse getCommunities(String token);
 
-    MemberResponse getMembers(String communityId);
+    MemberResponse getMembers(String communityId, String cursor, Integer size);
 
     PostResponse getCommunitiesPosts(String token, String communityId);
 
-    MemberResponse getPostLikes(String postId);
+    /** Checks access like {@link #getCommunitiesPosts(String, String)} and returns its envelope without posts. */
+    PostResponse getCommunitiesPostsEnvelope(String token, String communityId);
 
-    MemberResponse getCommentLikes(String commentId);
+    /**
+     * Produces the posts of {@link #getCommunitiesPosts(String, String)} one at a time from a database cursor,
+     * hydrating authors and likes per chunk, so memory use does not grow with the number of posts.
+     */
+    void streamCommunitiesPosts(String token, String communityId, Consumer<PostDto> consumer);
 
-    PostResponse getJoinedCommunitiesPosts(String token);
+    MemberResponse getPostLikes(String postId, String cursor, Integer size);
+
+    MemberResponse getCommentLikes(String commentId, String cursor, Integer size);
+
+    PostResponse getJoinedCommunitiesPosts(String token, String cursor, Integer size);
+
+    /** Entity tag of {@link #getCommunities(String)}, computed without building the response. */
+    String getCommunitiesVersion(String token);
+
+    /** Entity tag of {@link #getCommunitiesPosts(String, String)}, computed without building the response. */
+    String getCommunitiesPostsVersion(String token, String communityId);
+
+    /** Entity tag of {@link #getJoinedCommunitiesPosts(String, String, Integer)}, computed without building it. */
+    String getJoinedCommunitiesPostsVersion(String token, String cursor, Integer size);
 
     DefaultMessageResponse createPost(String token, PostRequest postRequest);
 
@@ -37,7 +59,7 @@ public interface CommunityService {
 
     DefaultMessageResponse leaveCommunity(String token, CommunityRequest communityRequest);
 
-    CommentsResponse getPostComments(String postId);
+    CommentsResponse getPostComments(String token, String postId, CommentSort sort, String cursor, Integer size);
 
     DefaultMessageResponse likePost(String token, String postId);
 
@@ -46,4 +68,6 @@ public interface CommunityService {
     DefaultMessageResponse unlikePost(String token, String postId);
 
     DefaultMessageResponse unlikeComment(String token, String commentId);
+
+    BatchLikeResponse batchLike(String token, BatchLikeRequest batchLikeRequest);
 }
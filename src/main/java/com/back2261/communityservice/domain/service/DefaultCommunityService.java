@@ -1,12 +1,33 @@
 package com.back2261.communityservice.domain.service;
 
+import com.back2261.communityservice.domain.cache.AvatarCatalog;
+import com.back2261.communityservice.domain.cache.CommunityDirectory;
+import com.back2261.communityservice.domain.cache.GamerPrincipalCache;
+import com.back2261.communityservice.domain.cache.MembershipIndex;
+import com.back2261.communityservice.domain.cache.VerifiedTokenCache;
+import com.back2261.communityservice.domain.like.PostLikeBuffer;
+import com.back2261.communityservice.domain.mapper.CommentMapper;
+import com.back2261.communityservice.domain.mapper.MemberMapper;
+import com.back2261.communityservice.domain.mapper.PostMapper;
+import com.back2261.communityservice.domain.pagination.InvalidCursorException;
+import com.back2261.communityservice.domain.pagination.PageCursor;
+import com.back2261.communityservice.domain.timeline.HomeTimeline;
 import com.back2261.communityservice.infrastructure.entity.*;
+import com.back2261.communityservice.infrastructure.projection.CommentSummary;
+import com.back2261.communityservice.infrastructure.projection.MemberSummary;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
 import com.back2261.communityservice.infrastructure.repository.*;
 import com.back2261.communityservice.interfaces.dto.*;
+import com.back2261.communityservice.interfaces.enums.CommentSort;
+import com.back2261.communityservice.interfaces.enums.LikeOperation;
+import com.back2261.communityservice.interfaces.enums.LikeTarget;
+import com.back2261.communityservice.interfaces.request.BatchLikeRequest;
 import com.back2261.communityservice.interfaces.request.CommunityRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommentRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommunityRequest;
+import com.back2261.communityservice.interfaces.request.LikeItemRequest;
 import com.back2261.communityservice.interfaces.request.PostRequest;
+import com.back2261.communityservice.interfaces.response.BatchLikeResponse;
 import com.back2261.communityservice.interfaces.response.CommentsResponse;
 import com.back2261.communityservice.interfaces.response.CommunityResponse;
 import com.back2261.communityservice.interfaces.response.MemberResponse;
@@ -18,37 +39,49 @@ import io.github.GameBuddyDevs.backendlibrary.enums.TransactionCode;
 import io.github.GameBuddyDevs.backendlibrary.exception.BusinessException;
 import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageBody;
 import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageResponse;
-import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultCommunityService implements CommunityService {
 
+    private static final int STREAM_CHUNK_SIZE = 100;
+
     private final CommunityRepository communityRepository;
+    private final CommunityCountersRepository communityCountersRepository;
     private final GamerRepository gamerRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
-    private final AvatarsRepository avatarsRepository;
-    private final JwtService jwtService;
+    private final AvatarCatalog avatarCatalog;
+    private final HomeTimeline homeTimeline;
+    private final PostLikeBuffer postLikeBuffer;
+    private final GamerPrincipalCache gamerPrincipalCache;
+    private final MembershipIndex membershipIndex;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final CommunityDirectory communityDirectory;
+    private final PostMapper postMapper;
+    private final CommentMapper commentMapper;
+    private final MemberMapper memberMapper;
 
     @Override
     public CommunityResponse getCommunities(String token) {
         Gamer gamer = extractGamer(token);
-        List<Community> communities = communityRepository.findAll();
-        List<CommunityDto> communityDtos = new ArrayList<>();
-        communities.forEach(community -> {
-            CommunityDto communityDto = new CommunityDto();
-            BeanUtils.copyProperties(community, communityDto);
-            communityDto.setCommunityId(community.getCommunityId().toString());
-            communityDto.setMemberCount(community.getMembers().size());
-            communityDto.setPostCount(community.getPosts().size());
-            communityDto.setIsJoined(community.getMembers().contains(gamer));
-            communityDtos.add(communityDto);
-        });
+        List<CommunityDto> communityDtos = communityDirectory.list(gamer.getUserId());
         CommunityResponse communityResponse = new CommunityResponse();
         CommunityResponseBody body = new CommunityResponseBody();
         body.setCommunities(communityDtos);
@@ -58,46 +91,33 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
-    public MemberResponse getMembers(String communityId) {
-        Community community = communityRepository
-                .findById(UUID.fromString(communityId))
+    public MemberResponse getMembers(String communityId, String cursor, Integer size) {
+        UUID id = UUID.fromString(communityId);
+        String ownerId = communityRepository
+                .findActiveOwnerId(id)
                 .orElseThrow(() -> new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND));
 
-        Set<Gamer> members = community.getMembers();
-        List<GamerDto> memberDtos = new ArrayList<>();
-        members.forEach(member -> {
-            GamerDto memberDto = new GamerDto();
-            BeanUtils.copyProperties(member, memberDto);
-            memberDto.setIsOwner(community.getOwner().equals(member));
-            memberDto.setAvatar(avatarsRepository
-                    .findById(member.getAvatar())
-                    .orElse(new Avatars())
-                    .getImage());
-            memberDtos.add(memberDto);
-        });
-        MemberResponse memberResponse = new MemberResponse();
-        MemberResponseBody body = new MemberResponseBody();
-        body.setMembers(memberDtos);
-        memberResponse.setBody(new BaseBody<>(body));
-        memberResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
-        return memberResponse;
+        int pageSize = PageCursor.pageSize(size);
+        List<MemberSummary> members =
+                gamerRepository.findMembers(id, gamerCursorKey(cursor), PageRequest.of(0, pageSize + 1));
+        return mapGamerPage(members, pageSize, ownerId);
     }
 
     @Override
     public PostResponse getCommunitiesPosts(String token, String communityId) {
         Gamer gamer = extractGamer(token);
-        Community community = communityRepository
-                .findById(UUID.fromString(communityId))
-                .orElseThrow(() -> new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND));
+        UUID id = UUID.fromString(communityId);
+        if (!communityRepository.existsActiveById(id)) {
+            throw new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND);
+        }
 
         PostResponse postResponse = new PostResponse();
         PostResponseBody body = new PostResponseBody();
         postResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
 
         List<PostDto> postDtos = new ArrayList<>();
-        if (Boolean.TRUE.equals(community.getMembers().contains(gamer))) {
-            Set<Post> posts = community.getPosts();
-            mapPosts(new ArrayList<>(posts), postDtos, gamer);
+        if (membershipIndex.isMember(id, gamer.getUserId())) {
+            mapPosts(postRepository.findCommunityPosts(id), postDtos, gamer);
         }
 
         body.setPosts(postDtos);
@@ -107,68 +127,152 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
-    public MemberResponse getPostLikes(String postId) {
-        Post post = postRepository
-                .findById(UUID.fromString(postId))
+    public PostResponse getCommunitiesPostsEnvelope(String token, String communityId) {
+        extractGamer(token);
+        if (!communityRepository.existsActiveById(UUID.fromString(communityId))) {
+            throw new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND);
+        }
+
+        PostResponseBody body = new PostResponseBody();
+        body.setPosts(new ArrayList<>());
+        PostResponse postResponse = new PostResponse();
+        postResponse.setBody(new BaseBody<>(body));
+        postResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
+        return postResponse;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCommunitiesPosts(String token, String communityId, Consumer<PostDto> consumer) {
+        Gamer gamer = extractGamer(token);
+        UUID id = UUID.fromString(communityId);
+        if (!membershipIndex.isMember(id, gamer.getUserId())) {
+            return;
+        }
+        List<PostSummary> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<PostSummary> posts = postRepository.streamByCommunity(id)) {
+            posts.forEach(post -> {
+                chunk.add(post);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    emitPosts(chunk, gamer, consumer);
+                }
+            });
+        }
+        emitPosts(chunk, gamer, consumer);
+    }
+
+    @Override
+    public MemberResponse getPostLikes(String postId, String cursor, Integer size) {
+        UUID id = UUID.fromString(postId);
+        String ownerId = postRepository
+                .findActiveOwner(id)
                 .orElseThrow(() -> new BusinessException(TransactionCode.POST_NOT_FOUND));
 
-        Set<Gamer> postLikes = post.getLikes();
-        List<GamerDto> likeDtos = new ArrayList<>();
-        mapLikes(postLikes, likeDtos, post.getOwner());
-        MemberResponse memberResponse = new MemberResponse();
-        MemberResponseBody body = new MemberResponseBody();
-        body.setMembers(likeDtos);
-        memberResponse.setBody(new BaseBody<>(body));
-        memberResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
-        return memberResponse;
+        int pageSize = PageCursor.pageSize(size);
+        List<MemberSummary> postLikes =
+                gamerRepository.findPostLikes(id, gamerCursorKey(cursor), PageRequest.of(0, pageSize + 1));
+        return mapGamerPage(postLikes, pageSize, ownerId);
     }
 
     @Override
-    public MemberResponse getCommentLikes(String commentId) {
-        Comment comment = commentRepository
-                .findById(UUID.fromString(commentId))
+    public MemberResponse getCommentLikes(String commentId, String cursor, Integer size) {
+        UUID id = UUID.fromString(commentId);
+        String ownerId = commentRepository
+                .findActiveOwner(id)
                 .orElseThrow(() -> new BusinessException(TransactionCode.COMMENT_NOT_FOUND));
 
-        Set<Gamer> commentLikes = comment.getLikes();
-        List<GamerDto> likeDtos = new ArrayList<>();
-        mapLikes(commentLikes, likeDtos, comment.getOwner());
-        MemberResponse memberResponse = new MemberResponse();
-        MemberResponseBody body = new MemberResponseBody();
-        body.setMembers(likeDtos);
-        memberResponse.setBody(new BaseBody<>(body));
-        memberResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
-        return memberResponse;
+        int pageSize = PageCursor.pageSize(size);
+        List<MemberSummary> commentLikes =
+                gamerRepository.findCommentLikes(id, gamerCursorKey(cursor), PageRequest.of(0, pageSize + 1));
+        return mapGamerPage(commentLikes, pageSize, ownerId);
     }
 
     @Override
-    public PostResponse getJoinedCommunitiesPosts(String token) {
+    public PostResponse getJoinedCommunitiesPosts(String token, String cursor, Integer size) {
         Gamer gamer = extractGamer(token);
-        Set<Community> communities = gamer.getJoinedCommunities();
-        List<Post> joinedCommunitiesPosts = new ArrayList<>();
-        communities.forEach(community -> {
-            Set<Post> posts = community.getPosts();
-            joinedCommunitiesPosts.addAll(posts);
-        });
+        int pageSize = PageCursor.pageSize(size);
+        List<PostSummary> posts = findJoinedFeedPage(gamer, cursor, pageSize + 1);
+
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            PostSummary last = posts.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.createdDate().toInstant(), last.postId());
+        }
         List<PostDto> postDtos = new ArrayList<>();
-        mapPosts(joinedCommunitiesPosts, postDtos, gamer);
-        postDtos.sort(Comparator.comparing(PostDto::getUpdatedDate).reversed());
+        mapPosts(posts, postDtos, gamer);
 
         PostResponse postResponse = new PostResponse();
         PostResponseBody body = new PostResponseBody();
         body.setPosts(postDtos);
+        body.setNextCursor(nextCursor);
         postResponse.setBody(new BaseBody<>(body));
         postResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
         return postResponse;
     }
 
     @Override
+    public String getCommunitiesVersion(String token) {
+        Gamer gamer = extractGamer(token);
+        return versionTag(
+                gamer.getUserId(),
+                String.valueOf(communityDirectory.fingerprint()),
+                communityDirectory.joinedIds(gamer.getUserId()).toString());
+    }
+
+    @Override
+    public String getCommunitiesPostsVersion(String token, String communityId) {
+        Gamer gamer = extractGamer(token);
+        UUID id = UUID.fromString(communityId);
+        String stamp = postRepository
+                .findCommunityPostsVersion(id, gamer.getUserId())
+                .orElseThrow(() -> new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND));
+        return versionTag(
+                gamer.getUserId(),
+                stamp,
+                pendingLikesVersion(gamer),
+                String.valueOf(membershipIndex.isMember(id, gamer.getUserId())));
+    }
+
+    /**
+     * Version of one feed page, built from the rows that page reads (including the look-ahead row behind
+     * {@code nextCursor}), the user's likes among them and their buffered likes, so a 304 costs one bounded page
+     * read.
+     */
+    @Override
+    public String getJoinedCommunitiesPostsVersion(String token, String cursor, Integer size) {
+        Gamer gamer = extractGamer(token);
+        int pageSize = PageCursor.pageSize(size);
+        List<PostSummary> posts = findJoinedFeedPage(gamer, cursor, pageSize + 1);
+        List<UUID> postIds = posts.stream().map(PostSummary::postId).toList();
+        Set<UUID> likedPostIds = postIds.isEmpty()
+                ? Collections.emptySet()
+                : postRepository.findLikedPostIds(gamer.getUserId(), postIds);
+        StringBuilder rows = new StringBuilder();
+        posts.forEach(post -> rows.append(post.postId())
+                .append(':')
+                .append(post.updatedDate() == null ? "" : post.updatedDate().getTime())
+                .append(':')
+                .append(post.likeCount())
+                .append(':')
+                .append(post.commentCount())
+                .append(':')
+                .append(likedPostIds.contains(post.postId()))
+                .append(':')
+                .append(pendingLikes(post.postId(), gamer))
+                .append(','));
+        return versionTag(gamer.getUserId(), rows.toString(), String.valueOf(cursor), String.valueOf(pageSize));
+    }
+
+    @Override
+    @Transactional
     public DefaultMessageResponse createPost(String token, PostRequest postRequest) {
         Gamer gamer = extractGamer(token);
         String communityId = postRequest.getCommunityId();
         Community community = communityRepository
-                .findById(UUID.fromString(communityId))
+                .findActiveById(UUID.fromString(communityId))
                 .orElseThrow(() -> new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND));
-        if (Boolean.FALSE.equals(community.getMembers().contains(gamer))) {
+        if (!isMember(community, gamer)) {
             throw new BusinessException(TransactionCode.NOT_MEMBER);
         }
 
@@ -177,13 +281,13 @@ public class DefaultCommunityService implements CommunityService {
         post.setBody(postRequest.getBody());
         post.setPicture(postRequest.getPicture());
         post.setTitle(postRequest.getTitle());
-        post.setPostId(UUID.randomUUID());
         post.setComments(new HashSet<>());
         post.setLikes(new HashSet<>());
         post.setCommunity(community);
-        community.getPosts().add(post);
         postRepository.save(post);
-        communityRepository.save(community);
+        communityCountersRepository.addPostCount(community.getCommunityId(), 1);
+        homeTimeline.postCreated(post);
+        communityDirectory.changed(community.getCommunityId());
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Post created successfully");
@@ -193,10 +297,10 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
+    @Transactional
     public DefaultMessageResponse createCommunity(String token, CreateCommunityRequest createCommunityRequest) {
         Gamer gamer = extractGamer(token);
         Community community = new Community();
-        community.setCommunityId(UUID.randomUUID());
         community.setName(createCommunityRequest.getName());
         community.setDescription(createCommunityRequest.getDescription());
         community.setCommunityAvatar(createCommunityRequest.getAvatar());
@@ -206,9 +310,13 @@ public class DefaultCommunityService implements CommunityService {
         community.getMembers().add(gamer);
         community.setOwner(gamer);
         communityRepository.save(community);
-        gamer.getOwnedCommunities().add(community);
-        gamer.getJoinedCommunities().add(community);
-        gamerRepository.save(gamer);
+        communityCountersRepository.save(new CommunityCounters(community.getCommunityId(), 1, 0));
+        gamerRepository.findById(gamer.getUserId()).ifPresent(owner -> {
+            owner.getOwnedCommunities().add(community);
+            gamerRepository.save(owner);
+        });
+        gamerPrincipalCache.evict(gamer.getEmail());
+        communityDirectory.changed(community.getCommunityId());
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Community created successfully");
@@ -218,20 +326,22 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
+    @Transactional
     public DefaultMessageResponse createComment(String token, CreateCommentRequest commentRequest) {
         Gamer gamer = extractGamer(token);
         String postId = commentRequest.getPostId();
         Post post = postRepository
-                .findById(UUID.fromString(postId))
+                .findActiveById(UUID.fromString(postId))
                 .orElseThrow(() -> new BusinessException(TransactionCode.POST_NOT_FOUND));
         Comment comment = new Comment();
-        comment.setCommentId(UUID.randomUUID());
         comment.setMessage(commentRequest.getMessage());
         comment.setOwner(gamer.getUserId());
+        comment.setPostId(post.getPostId());
         comment.setLikes(new HashSet<>());
         post.getComments().add(comment);
         commentRepository.save(comment);
         postRepository.save(post);
+        postRepository.addCommentCount(post.getPostId(), 1);
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Comment created successfully");
@@ -245,13 +355,15 @@ public class DefaultCommunityService implements CommunityService {
         Gamer gamer = extractGamer(token);
         String communityId = communityRequest.getCommunityId();
         Community community = communityRepository
-                .findById(UUID.fromString(communityId))
+                .findActiveById(UUID.fromString(communityId))
                 .orElseThrow(() -> new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND));
-        if (Boolean.FALSE.equals(community.getOwner().equals(gamer))
-                && Boolean.FALSE.equals(Objects.equals(gamer.getRole(), Role.ADMIN))) {
+        if (!isOwner(community, gamer) && Boolean.FALSE.equals(Objects.equals(gamer.getRole(), Role.ADMIN))) {
             throw new BusinessException(TransactionCode.NOT_OWNER);
         }
-        communityRepository.delete(community);
+        // Rows are purged in chunks by CommunityPurgeJob; the flag hides the community right away.
+        communityRepository.markDeleted(community.getCommunityId());
+        membershipIndex.evict(community.getCommunityId());
+        communityDirectory.changed(community.getCommunityId());
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Community deleted successfully");
@@ -261,16 +373,21 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
+    @Transactional
     public DefaultMessageResponse deletePost(String token, String postId) {
         Gamer gamer = extractGamer(token);
         Post post = postRepository
-                .findById(UUID.fromString(postId))
+                .findActiveById(UUID.fromString(postId))
                 .orElseThrow(() -> new BusinessException(TransactionCode.POST_NOT_FOUND));
         if (Boolean.FALSE.equals(post.getOwner().equals(gamer.getUserId()))
                 && Boolean.FALSE.equals(Objects.equals(gamer.getRole(), Role.ADMIN))) {
             throw new BusinessException(TransactionCode.NOT_OWNER);
         }
-        postRepository.delete(post);
+        // Tombstoned rows and their links are removed later by TombstoneCompactorJob.
+        if (postRepository.markDeleted(post.getPostId()) > 0) {
+            communityCountersRepository.addPostCount(post.getCommunity().getCommunityId(), -1);
+            communityDirectory.changed(post.getCommunity().getCommunityId());
+        }
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Post deleted successfully");
@@ -280,16 +397,20 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
+    @Transactional
     public DefaultMessageResponse deleteComment(String token, String commentId) {
         Gamer gamer = extractGamer(token);
         Comment comment = commentRepository
-                .findById(UUID.fromString(commentId))
+                .findActiveById(UUID.fromString(commentId))
                 .orElseThrow(() -> new BusinessException(TransactionCode.COMMENT_NOT_FOUND));
         if (Boolean.FALSE.equals(comment.getOwner().equals(gamer.getUserId()))
                 && Boolean.FALSE.equals(Objects.equals(gamer.getRole(), Role.ADMIN))) {
             throw new BusinessException(TransactionCode.NOT_OWNER);
         }
-        commentRepository.delete(comment);
+        Optional<UUID> postId = postRepository.findPostIdByCommentId(comment.getCommentId());
+        if (commentRepository.markDeleted(comment.getCommentId()) > 0) {
+            postId.ifPresent(id -> postRepository.addCommentCount(id, -1));
+        }
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Comment deleted successfully");
@@ -299,19 +420,19 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
+    @Transactional
     public DefaultMessageResponse joinCommunity(String token, CommunityRequest communityRequest) {
         Gamer gamer = extractGamer(token);
         String communityId = communityRequest.getCommunityId();
         Community community = communityRepository
-                .findById(UUID.fromString(communityId))
+                .findActiveById(UUID.fromString(communityId))
                 .orElseThrow(() -> new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND));
-        if (Boolean.TRUE.equals(community.getMembers().contains(gamer))) {
+        if (communityRepository.addMember(community.getCommunityId(), gamer.getUserId()) == 0) {
             throw new BusinessException(TransactionCode.ALREADY_MEMBER);
         }
-        community.getMembers().add(gamer);
-        communityRepository.save(community);
-        gamer.getJoinedCommunities().add(community);
-        gamerRepository.save(gamer);
+        membershipIndex.added(community.getCommunityId(), gamer.getUserId());
+        communityDirectory.changed(community.getCommunityId());
+        homeTimeline.memberJoined(gamer.getUserId(), community);
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Joined " + community.getName() + " successfully");
@@ -321,22 +442,25 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
+    @Transactional
     public DefaultMessageResponse leaveCommunity(String token, CommunityRequest communityRequest) {
         Gamer gamer = extractGamer(token);
         String communityId = communityRequest.getCommunityId();
         Community community = communityRepository
-                .findById(UUID.fromString(communityId))
+                .findActiveById(UUID.fromString(communityId))
                 .orElseThrow(() -> new BusinessException(TransactionCode.COMMUNITY_NOT_FOUND));
-        if (Boolean.FALSE.equals(community.getMembers().contains(gamer))) {
+        if (!isMember(community, gamer)) {
             throw new BusinessException(TransactionCode.NOT_MEMBER);
-        } else if (Boolean.TRUE.equals(community.getOwner().equals(gamer))) {
+        } else if (isOwner(community, gamer)) {
             throw new BusinessException(TransactionCode.USER_OWNER);
         }
 
-        community.getMembers().remove(gamer);
-        communityRepository.save(community);
-        gamer.getJoinedCommunities().remove(community);
-        gamerRepository.save(gamer);
+        if (communityRepository.removeMember(community.getCommunityId(), gamer.getUserId()) == 0) {
+            throw new BusinessException(TransactionCode.NOT_MEMBER);
+        }
+        membershipIndex.removed(community.getCommunityId(), gamer.getUserId());
+        communityDirectory.changed(community.getCommunityId());
+        homeTimeline.memberLeft(gamer.getUserId(), community.getCommunityId());
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Left " + community.getName() + " successfully");
@@ -346,31 +470,39 @@ public class DefaultCommunityService implements CommunityService {
     }
 
     @Override
-    public CommentsResponse getPostComments(String postId) {
-        Post post = postRepository
-                .findById(UUID.fromString(postId))
-                .orElseThrow(() -> new BusinessException(TransactionCode.POST_NOT_FOUND));
-        Set<Comment> comments = post.getComments();
+    public CommentsResponse getPostComments(
+            String token, String postId, CommentSort sort, String cursor, Integer size) {
+        Gamer currentGamer = extractGamer(token);
+        UUID id = UUID.fromString(postId);
+        if (!postRepository.existsActiveById(id)) {
+            throw new BusinessException(TransactionCode.POST_NOT_FOUND);
+        }
+
+        int pageSize = PageCursor.pageSize(size);
+        List<CommentSummary> comments = findCommentPage(id, sort, cursor, PageRequest.of(0, pageSize + 1));
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            CommentSummary last = comments.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.likeCount(), last.createdDate().toInstant(), last.commentId());
+        }
+        Set<UUID> likedCommentIds = comments.isEmpty()
+                ? Collections.emptySet()
+                : commentRepository.findLikedCommentIds(
+                        currentGamer.getUserId(),
+                        comments.stream().map(CommentSummary::commentId).toList());
         List<CommentDto> commentDtos = new ArrayList<>();
         comments.forEach(comment -> {
-            CommentDto commentDto = new CommentDto();
-            BeanUtils.copyProperties(comment, commentDto);
-            commentDto.setCommentId(comment.getCommentId().toString());
-            Gamer gamer = gamerRepository
-                    .findById(comment.getOwner())
-                    .orElseThrow(() -> new BusinessException(TransactionCode.USER_NOT_FOUND));
-            commentDto.setUsername(gamer.getGamerUsername());
-            String avatar = avatarsRepository
-                    .findById(gamer.getAvatar())
-                    .orElse(new Avatars())
-                    .getImage();
-            commentDto.setAvatar(avatar);
+            CommentDto commentDto = commentMapper.toDto(comment);
+            commentDto.setAvatar(avatarCatalog.getImage(comment.avatar()));
+            commentDto.setIsLiked(likedCommentIds.contains(comment.commentId()));
             commentDtos.add(commentDto);
         });
 
         CommentsResponse commentsResponse = new CommentsResponse();
         CommentsResponseBody body = new CommentsResponseBody();
         body.setComments(commentDtos);
+        body.setNextCursor(nextCursor);
         commentsResponse.setBody(new BaseBody<>(body));
         commentsResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
         return commentsResponse;
@@ -379,15 +511,16 @@ public class DefaultCommunityService implements CommunityService {
     @Override
     public DefaultMessageResponse likePost(String token, String postId) {
         Gamer gamer = extractGamer(token);
-        Post post = postRepository
-                .findById(UUID.fromString(postId))
-                .orElseThrow(() -> new BusinessException(TransactionCode.POST_NOT_FOUND));
-        if (Boolean.TRUE.equals(post.getLikes().contains(gamer))) {
+        UUID id = UUID.fromString(postId);
+        if (!postRepository.existsActiveById(id)) {
+            throw new BusinessException(TransactionCode.POST_NOT_FOUND);
+        }
+        boolean liked = postLikeBuffer.isEnabled()
+                ? bufferLike(id, gamer, true)
+                : postRepository.like(id, gamer.getUserId()) > 0;
+        if (!liked) {
             throw new BusinessException(TransactionCode.ALREADY_LIKED);
         }
-        post.getLikes().add(gamer);
-        post.setLikeCount(post.getLikes().size());
-        postRepository.save(post);
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Liked post successfully");
@@ -399,15 +532,13 @@ public class DefaultCommunityService implements CommunityService {
     @Override
     public DefaultMessageResponse likeComment(String token, String commentId) {
         Gamer gamer = extractGamer(token);
-        Comment comment = commentRepository
-                .findById(UUID.fromString(commentId))
-                .orElseThrow(() -> new BusinessException(TransactionCode.COMMENT_NOT_FOUND));
-        if (Boolean.TRUE.equals(comment.getLikes().contains(gamer))) {
+        UUID id = UUID.fromString(commentId);
+        if (!commentRepository.existsActiveById(id)) {
+            throw new BusinessException(TransactionCode.COMMENT_NOT_FOUND);
+        }
+        if (commentRepository.like(id, gamer.getUserId()) == 0) {
             throw new BusinessException(TransactionCode.ALREADY_LIKED);
         }
-        comment.getLikes().add(gamer);
-        comment.setLikeCount(comment.getLikes().size());
-        commentRepository.save(comment);
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Liked comment successfully");
@@ -419,13 +550,15 @@ public class DefaultCommunityService implements CommunityService {
     @Override
     public DefaultMessageResponse unlikePost(String token, String postId) {
         Gamer gamer = extractGamer(token);
-        Post post = postRepository
-                .findById(UUID.fromString(postId))
-                .orElseThrow(() -> new BusinessException(TransactionCode.POST_NOT_FOUND));
-
-        post.getLikes().remove(gamer);
-        post.setLikeCount(post.getLikes().size());
-        postRepository.save(post);
+        UUID id = UUID.fromString(postId);
+        if (!postRepository.existsActiveById(id)) {
+            throw new BusinessException(TransactionCode.POST_NOT_FOUND);
+        }
+        if (postLikeBuffer.isEnabled()) {
+            bufferLike(id, gamer, false);
+        } else {
+            postRepository.unlike(id, gamer.getUserId());
+        }
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Unliked post successfully");
@@ -437,13 +570,11 @@ public class DefaultCommunityService implements CommunityService {
     @Override
     public DefaultMessageResponse unlikeComment(String token, String commentId) {
         Gamer gamer = extractGamer(token);
-        Comment comment = commentRepository
-                .findById(UUID.fromString(commentId))
-                .orElseThrow(() -> new BusinessException(TransactionCode.COMMENT_NOT_FOUND));
-
-        comment.getLikes().remove(gamer);
-        comment.setLikeCount(comment.getLikes().size());
-        commentRepository.save(comment);
+        UUID id = UUID.fromString(commentId);
+        if (!commentRepository.existsActiveById(id)) {
+            throw new BusinessException(TransactionCode.COMMENT_NOT_FOUND);
+        }
+        commentRepository.unlike(id, gamer.getUserId());
 
         DefaultMessageResponse defaultMessageResponse = new DefaultMessageResponse();
         DefaultMessageBody body = new DefaultMessageBody("Unliked comment successfully");
@@ -452,46 +583,283 @@ public class DefaultCommunityService implements CommunityService {
         return defaultMessageResponse;
     }
 
+    @Override
+    @Transactional
+    public BatchLikeResponse batchLike(String token, BatchLikeRequest batchLikeRequest) {
+        Gamer gamer = extractGamer(token);
+        // The last operation sent for a target decides its final state; earlier ones report the same outcome.
+        Map<LikeTarget, Map<UUID, LikeOperation>> operations = new EnumMap<>(LikeTarget.class);
+        for (LikeItemRequest item : batchLikeRequest.getItems()) {
+            UUID id = parseId(item.getId());
+            if (id != null) {
+                operations
+                        .computeIfAbsent(item.getTarget(), target -> new LinkedHashMap<>())
+                        .put(id, item.getOperation());
+            }
+        }
+        Map<LikeTarget, Map<UUID, TransactionCode>> outcomes = new EnumMap<>(LikeTarget.class);
+        operations.forEach((target, targetOperations) ->
+                outcomes.put(target, applyLikeOperations(target, targetOperations, gamer)));
+
+        List<LikeResultDto> results = new ArrayList<>();
+        for (LikeItemRequest item : batchLikeRequest.getItems()) {
+            UUID id = parseId(item.getId());
+            TransactionCode code = id == null
+                    ? notFound(item.getTarget())
+                    : outcomes.get(item.getTarget()).get(id);
+            LikeResultDto result = new LikeResultDto();
+            result.setTarget(item.getTarget());
+            result.setId(item.getId());
+            result.setOperation(item.getOperation());
+            result.setCode(code.getId());
+            results.add(result);
+        }
+
+        BatchLikeResponse batchLikeResponse = new BatchLikeResponse();
+        BatchLikeResponseBody body = new BatchLikeResponseBody();
+        body.setResults(results);
+        batchLikeResponse.setBody(new BaseBody<>(body));
+        batchLikeResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
+        return batchLikeResponse;
+    }
+
+    /** Reads {@code limit} rows of the joined feed after the cursor, from the home timeline when it is enabled. */
+    private List<PostSummary> findJoinedFeedPage(Gamer gamer, String cursor, int limit) {
+        if (cursor == null) {
+            return homeTimeline.isEnabled()
+                    ? homeTimeline.readPage(gamer.getUserId(), null, null, limit)
+                    : postRepository.findJoinedFeed(gamer.getUserId(), limit);
+        }
+        Date afterDate;
+        UUID afterPostId;
+        try {
+            String[] keys = PageCursor.decode(cursor, 2);
+            afterDate = Timestamp.from(Instant.parse(keys[0]));
+            afterPostId = UUID.fromString(keys[1]);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(e);
+        }
+        return homeTimeline.isEnabled()
+                ? homeTimeline.readPage(gamer.getUserId(), afterDate, afterPostId, limit)
+                : postRepository.findJoinedFeedAfter(gamer.getUserId(), afterDate, afterPostId, limit);
+    }
+
+    /** Likes the response merges from the buffer but the database stamp does not see yet. */
+    private String pendingLikesVersion(Gamer gamer) {
+        return postLikeBuffer.isEnabled() ? postLikeBuffer.pendingVersion(gamer.getUserId()) : "";
+    }
+
+    /** Buffered count change and like state of one post, as {@link #mapPosts} merges them. */
+    private String pendingLikes(UUID postId, Gamer gamer) {
+        return postLikeBuffer.isEnabled()
+                ? postLikeBuffer.pendingDelta(postId) + ":" + postLikeBuffer.pendingState(postId, gamer.getUserId())
+                : "";
+    }
+
+    /** Strong entity tag for a response built from the given version stamp parts. */
+    private static String versionTag(String... parts) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] digest = sha256.digest(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     private Gamer extractGamer(String token) {
-        String email = jwtService.extractUsername(token);
-        Optional<Gamer> gamerOptional = gamerRepository.findByEmail(email);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Gamer gamer) {
+            return gamer;
+        }
+        String email = verifiedTokenCache.extractUsername(token);
+        Optional<Gamer> gamerOptional = gamerPrincipalCache.findByEmail(email);
         if (gamerOptional.isEmpty()) {
             throw new BusinessException(TransactionCode.USER_NOT_FOUND);
         }
         return gamerOptional.get();
     }
 
-    private void mapPosts(List<Post> posts, List<PostDto> postDtos, Gamer gamer) {
+    private boolean isMember(Community community, Gamer gamer) {
+        return membershipIndex.isMember(community.getCommunityId(), gamer.getUserId());
+    }
+
+    private boolean isOwner(Community community, Gamer gamer) {
+        return Objects.equals(community.getOwner().getUserId(), gamer.getUserId());
+    }
+
+    /** Maps and hands over one chunk, so the liked-post lookup stays one bounded query per chunk. */
+    private void emitPosts(List<PostSummary> chunk, Gamer gamer, Consumer<PostDto> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<PostDto> postDtos = new ArrayList<>(chunk.size());
+        mapPosts(chunk, postDtos, gamer);
+        postDtos.forEach(consumer);
+        chunk.clear();
+    }
+
+    private void mapPosts(List<PostSummary> posts, List<PostDto> postDtos, Gamer gamer) {
+        Set<UUID> likedPostIds = posts.isEmpty()
+                ? Collections.emptySet()
+                : postRepository.findLikedPostIds(
+                        gamer.getUserId(),
+                        posts.stream().map(PostSummary::postId).toList());
         posts.forEach(post -> {
-            PostDto postDto = new PostDto();
-            BeanUtils.copyProperties(post, postDto);
-
-            postDto.setPostId(post.getPostId().toString());
-            postDto.setCommunityName(post.getCommunity().getName());
-            Gamer postOwner = gamerRepository
-                    .findById(post.getOwner())
-                    .orElseThrow(() -> new BusinessException(TransactionCode.USER_NOT_FOUND));
-            postDto.setUsername(postOwner.getGamerUsername());
-            String avatar = avatarsRepository
-                    .findById(postOwner.getAvatar())
-                    .orElse(new Avatars())
-                    .getImage();
-            postDto.setAvatar(avatar);
-            postDto.setCommentCount(post.getComments().size());
-            postDto.setIsLiked(post.getLikes().contains(gamer));
+            PostDto postDto = postMapper.toDto(post);
+            postDto.setAvatar(avatarCatalog.getImage(post.avatar()));
+            postDto.setIsLiked(likedPostIds.contains(post.postId()));
+            if (postLikeBuffer.isEnabled()) {
+                postDto.setLikeCount(post.likeCount() + postLikeBuffer.pendingDelta(post.postId()));
+                Boolean pendingLike = postLikeBuffer.pendingState(post.postId(), gamer.getUserId());
+                if (pendingLike != null) {
+                    postDto.setIsLiked(pendingLike);
+                }
+            }
             postDtos.add(postDto);
         });
     }
 
-    private void mapLikes(Set<Gamer> likes, List<GamerDto> likeDtos, String ownerId) {
+    private Map<UUID, TransactionCode> applyLikeOperations(
+            LikeTarget target, Map<UUID, LikeOperation> operations, Gamer gamer) {
+        boolean posts = target == LikeTarget.POST;
+        Set<UUID> existing = posts
+                ? postRepository.findExistingIds(operations.keySet())
+                : commentRepository.findExistingIds(operations.keySet());
+        List<UUID> likes = new ArrayList<>();
+        List<UUID> unlikes = new ArrayList<>();
+        operations.forEach((id, operation) -> {
+            if (existing.contains(id)) {
+                (operation == LikeOperation.LIKE ? likes : unlikes).add(id);
+            }
+        });
+
+        Set<UUID> liked = new HashSet<>();
+        if (posts && postLikeBuffer.isEnabled()) {
+            likes.stream().filter(id -> bufferLike(id, gamer, true)).forEach(liked::add);
+            unlikes.forEach(id -> bufferLike(id, gamer, false));
+        } else if (posts) {
+            if (!likes.isEmpty()) {
+                liked.addAll(postRepository.likeAll(gamer.getUserId(), likes));
+            }
+            if (!unlikes.isEmpty()) {
+                postRepository.unlikeAll(gamer.getUserId(), unlikes);
+            }
+        } else {
+            if (!likes.isEmpty()) {
+                liked.addAll(commentRepository.likeAll(gamer.getUserId(), likes));
+            }
+            if (!unlikes.isEmpty()) {
+                commentRepository.unlikeAll(gamer.getUserId(), unlikes);
+            }
+        }
+
+        Map<UUID, TransactionCode> outcomes = new HashMap<>();
+        operations.forEach((id, operation) -> {
+            if (!existing.contains(id)) {
+                outcomes.put(id, notFound(target));
+            } else if (operation == LikeOperation.LIKE && !liked.contains(id)) {
+                outcomes.put(id, TransactionCode.ALREADY_LIKED);
+            } else {
+                outcomes.put(id, TransactionCode.DEFAULT_100);
+            }
+        });
+        return outcomes;
+    }
+
+    private TransactionCode notFound(LikeTarget target) {
+        return target == LikeTarget.POST ? TransactionCode.POST_NOT_FOUND : TransactionCode.COMMENT_NOT_FOUND;
+    }
+
+    private UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records a like or unlike in the buffer, writing it through {@link PostRepository} when the buffer is full.
+     *
+     * @return whether the like state changed
+     */
+    private boolean bufferLike(UUID postId, Gamer gamer, boolean like) {
+        PostLikeBuffer.Outcome outcome = like
+                ? postLikeBuffer.like(postId, gamer.getUserId(), () -> isLikedInDatabase(postId, gamer))
+                : postLikeBuffer.unlike(postId, gamer.getUserId(), () -> isLikedInDatabase(postId, gamer));
+        return switch (outcome) {
+            case CHANGED -> true;
+            case UNCHANGED -> false;
+            case FULL -> (like
+                            ? postRepository.like(postId, gamer.getUserId())
+                            : postRepository.unlike(postId, gamer.getUserId()))
+                    > 0;
+        };
+    }
+
+    private boolean isLikedInDatabase(UUID postId, Gamer gamer) {
+        return !postRepository
+                .findLikedPostIds(gamer.getUserId(), List.of(postId))
+                .isEmpty();
+    }
+
+    private List<CommentSummary> findCommentPage(UUID postId, CommentSort sort, String cursor, Pageable limit) {
+        if (cursor == null) {
+            return switch (sort) {
+                case NEWEST -> commentRepository.findNewest(postId, limit);
+                case OLDEST -> commentRepository.findOldest(postId, limit);
+                case MOST_LIKED -> commentRepository.findMostLiked(postId, limit);
+            };
+        }
+        Integer likeCount;
+        Date createdDate;
+        UUID commentId;
+        try {
+            String[] keys = PageCursor.decode(cursor, 3);
+            likeCount = Integer.valueOf(keys[0]);
+            createdDate = Timestamp.from(Instant.parse(keys[1]));
+            commentId = UUID.fromString(keys[2]);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(e);
+        }
+        return switch (sort) {
+            case NEWEST -> commentRepository.findNewestAfter(postId, createdDate, commentId, limit);
+            case OLDEST -> commentRepository.findOldestAfter(postId, createdDate, commentId, limit);
+            case MOST_LIKED -> commentRepository.findMostLikedAfter(postId, likeCount, createdDate, commentId, limit);
+        };
+    }
+
+    private MemberResponse mapGamerPage(List<MemberSummary> gamers, int pageSize, String ownerId) {
+        String nextCursor = null;
+        if (gamers.size() > pageSize) {
+            gamers = gamers.subList(0, pageSize);
+            nextCursor = PageCursor.encode(gamers.get(pageSize - 1).userId());
+        }
+        List<GamerDto> gamerDtos = new ArrayList<>();
+        mapLikes(gamers, gamerDtos, ownerId);
+
+        MemberResponse memberResponse = new MemberResponse();
+        MemberResponseBody body = new MemberResponseBody();
+        body.setMembers(gamerDtos);
+        body.setNextCursor(nextCursor);
+        memberResponse.setBody(new BaseBody<>(body));
+        memberResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
+        return memberResponse;
+    }
+
+    private String gamerCursorKey(String cursor) {
+        if (cursor == null) {
+            return "";
+        }
+        return PageCursor.decode(cursor, 1)[0];
+    }
+
+    private void mapLikes(Collection<MemberSummary> likes, List<GamerDto> likeDtos, String ownerId) {
         likes.forEach(like -> {
-            GamerDto likeDto = new GamerDto();
-            BeanUtils.copyProperties(like, likeDto);
-            likeDto.setIsOwner(Objects.equals(ownerId, like.getUserId()));
-            likeDto.setAvatar(avatarsRepository
-                    .findById(like.getAvatar())
-                    .orElse(new Avatars())
-                    .getImage());
+            GamerDto likeDto = memberMapper.toDto(like);
+            likeDto.setIsOwner(Objects.equals(ownerId, like.userId()));
+            likeDto.setAvatar(avatarCatalog.getImage(like.avatar()));
             likeDtos.add(likeDto);
         });
     }
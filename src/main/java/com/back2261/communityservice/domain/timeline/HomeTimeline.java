@@ -0,0 +1,114 @@
+package com.back2261.communityservice.domain.timeline;
+
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import com.back2261.communityservice.infrastructure.repository.CommunityCountersRepository;
+import com.back2261.communityservice.infrastructure.repository.PostRepository;
+import com.back2261.communityservice.infrastructure.repository.TimelineRepository;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialized home timelines for the joined-communities feed. When enabled, a new post is fanned out to a timeline
+ * row per member so the feed becomes a single indexed range read. Posts of communities with more than
+ * {@code community.timeline.fan-out-limit} members are not fanned out. The decision is stored on the post, and every
+ * post that was not fanned out is merged in at read time, whatever the community's size is today. Each timeline keeps
+ * at most {@code community.timeline.max-entries} posts. Timeline rows, the pull query and the merge are all keyed on
+ * the post's creation date, which an edit or a counter update never moves.
+ */
+@Component
+public class HomeTimeline {
+
+    private static final Comparator<PostSummary> NEWEST_FIRST = Comparator.comparing(PostSummary::createdDate)
+            .thenComparing(post -> post.postId().toString())
+            .reversed();
+
+    private final TimelineRepository timelineRepository;
+    private final PostRepository postRepository;
+    private final CommunityCountersRepository communityCountersRepository;
+    private final boolean enabled;
+    private final int fanOutLimit;
+    private final int maxEntries;
+
+    public HomeTimeline(
+            TimelineRepository timelineRepository,
+            PostRepository postRepository,
+            CommunityCountersRepository communityCountersRepository,
+            @Value("${community.timeline.enabled:false}") boolean enabled,
+            @Value("${community.timeline.fan-out-limit:5000}") int fanOutLimit,
+            @Value("${community.timeline.max-entries:500}") int maxEntries) {
+        this.timelineRepository = timelineRepository;
+        this.postRepository = postRepository;
+        this.communityCountersRepository = communityCountersRepository;
+        this.enabled = enabled;
+        this.fanOutLimit = fanOutLimit;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<PostSummary> readPage(String userId, Date createdDate, UUID postId, int limit) {
+        Pageable page = PageRequest.of(0, limit);
+        List<PostSummary> fannedOut;
+        List<PostSummary> pulled;
+        if (createdDate == null) {
+            fannedOut = timelineRepository.findTimeline(userId, page);
+            pulled = postRepository.findJoinedFeedNotFannedOut(userId, limit);
+        } else {
+            fannedOut = timelineRepository.findTimelineAfter(userId, createdDate, postId, page);
+            pulled = postRepository.findJoinedFeedNotFannedOutAfter(userId, createdDate, postId, limit);
+        }
+        if (pulled.isEmpty()) {
+            return fannedOut;
+        }
+
+        // Timelines backfilled before the fan-out decision was stored can hold pulled posts, so merge by post id.
+        Map<UUID, PostSummary> merged = new LinkedHashMap<>();
+        fannedOut.forEach(post -> merged.put(post.postId(), post));
+        pulled.forEach(post -> merged.putIfAbsent(post.postId(), post));
+        return merged.values().stream().sorted(NEWEST_FIRST).limit(limit).toList();
+    }
+
+    public void postCreated(Post post) {
+        if (!enabled || isLarge(post.getCommunity())) {
+            return;
+        }
+        post.setFannedOut(true);
+        postRepository.flush();
+        timelineRepository.fanOut(post.getPostId());
+    }
+
+    /** Copies the community's fanned-out posts to the new member; posts that were not fanned out are pulled. */
+    public void memberJoined(String userId, Community community) {
+        if (!enabled) {
+            return;
+        }
+        timelineRepository.backfill(userId, community.getCommunityId(), maxEntries);
+    }
+
+    public void memberLeft(String userId, UUID communityId) {
+        timelineRepository.deleteByMember(userId, communityId);
+    }
+
+    public int trim() {
+        return timelineRepository.trim(maxEntries);
+    }
+
+    private boolean isLarge(Community community) {
+        return communityCountersRepository
+                .findMemberCount(community.getCommunityId())
+                .map(memberCount -> memberCount > fanOutLimit)
+                .orElse(false);
+    }
+}
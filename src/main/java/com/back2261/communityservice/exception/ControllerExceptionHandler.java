@@ -1,5 +1,6 @@
 package com.back2261.communityservice.exception;
 
+import com.back2261.communityservice.domain.pagination.InvalidCursorException;
 import io.github.GameBuddyDevs.backendlibrary.base.Status;
 import io.github.GameBuddyDevs.backendlibrary.exception.BusinessException;
 import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageResponse;
@@ -47,6 +48,18 @@ public class ControllerExceptionHandler {
         }
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public final ResponseEntity<DefaultMessageResponse> handleInvalidCursorException(
+            InvalidCursorException ex, HttpServletRequest request) {
+        DefaultMessageResponse response = new DefaultMessageResponse();
+        Status status = new Status();
+        status.setMessage(InvalidCursorException.CODE);
+        status.setSuccess(false);
+        status.setCode(String.valueOf(HttpStatus.BAD_REQUEST.value()));
+        response.setStatus(status);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public final ResponseEntity<DefaultMessageResponse> handleCustomBusinessException(
             BusinessException ex, HttpServletRequest request) {
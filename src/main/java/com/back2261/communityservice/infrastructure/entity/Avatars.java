@@ -1,5 +1,6 @@
 package com.back2261.communityservice.infrastructure.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -9,9 +10,13 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "avatars", schema = "schappl")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "avatars")
 @Getter
 @Setter
 @AllArgsConstructor
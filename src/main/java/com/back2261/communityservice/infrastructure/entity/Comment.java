@@ -1,5 +1,6 @@
 package com.back2261.communityservice.infrastructure.entity;
 
+import com.back2261.communityservice.infrastructure.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.Date;
@@ -10,18 +11,30 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Synchronize;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "comment")
+@Table(
+        name = "comment",
+        indexes = {
+            @Index(name = "idx_comment_post_created", columnList = "post_id, createdDate, commentId"),
+            @Index(name = "idx_comment_post_liked", columnList = "post_id, likeCount, createdDate, commentId")
+        })
+@Synchronize("comment")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Comment implements Serializable {
     @Id
+    @TimeOrderedId
     private UUID commentId;
 
+    /** Post the comment belongs to, copied from {@code post_comments_join} so a post's comments can be paged. */
+    @Column(name = "post_id")
+    private UUID postId;
+
     private String owner;
     private String message;
     private Integer likeCount = 0;
@@ -32,6 +45,11 @@ public class Comment implements Serializable {
     @UpdateTimestamp
     private Date updatedDate;
 
+    @Column(columnDefinition = "boolean default false")
+    private Boolean deleted = false;
+
+    private Date deletedDate;
+
     @ManyToMany
     @JoinTable(
             name = "comment_likes_join",
@@ -1,5 +1,6 @@
 package com.back2261.communityservice.infrastructure.entity;
 
+import com.back2261.communityservice.infrastructure.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.Date;
@@ -9,16 +10,23 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Synchronize;
 
 @Entity
 @Table(name = "community")
+@Synchronize("community")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "community")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Community implements Serializable {
     @Id
+    @TimeOrderedId
     private UUID communityId;
 
     private String name;
@@ -29,6 +37,11 @@ public class Community implements Serializable {
     @CreationTimestamp
     private Date createdDate;
 
+    @Column(columnDefinition = "boolean default false")
+    private Boolean deleted = false;
+
+    private Date deletedDate;
+
     @OneToMany(mappedBy = "community")
     private Set<Post> posts;
 
@@ -36,7 +49,8 @@ public class Community implements Serializable {
     @JoinTable(
             name = "community_members_join",
             joinColumns = @JoinColumn(name = "community_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id"))
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_community_members_user", columnList = "user_id, community_id"))
     private Set<Gamer> members;
 
     @ManyToOne
@@ -0,0 +1,33 @@
+package com.back2261.communityservice.infrastructure.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * Member and post counters of a community. They live outside {@link Community} and are not cached, so a join, leave
+ * or new post rewrites only this row and leaves the cached community and its cached queries in place.
+ */
+@Entity
+@Table(name = "community_counters")
+@Synchronize("community_counters")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommunityCounters implements Serializable {
+    @Id
+    @Column(name = "community_id")
+    private UUID communityId;
+
+    @Column(columnDefinition = "integer default 0")
+    private Integer memberCount = 0;
+
+    @Column(columnDefinition = "integer default 0")
+    private Integer postCount = 0;
+}
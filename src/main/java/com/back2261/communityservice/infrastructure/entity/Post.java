@@ -1,5 +1,6 @@
 package com.back2261.communityservice.infrastructure.entity;
 
+import com.back2261.communityservice.infrastructure.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.Date;
@@ -10,16 +11,27 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Synchronize;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "post")
+@Table(
+        name = "post",
+        indexes = {
+            @Index(name = "idx_post_community_updated", columnList = "community_id, updatedDate, postId"),
+            @Index(name = "idx_post_community_created", columnList = "community_id, createdDate, postId"),
+            @Index(
+                    name = "idx_post_community_pulled_created",
+                    columnList = "community_id, fannedOut, createdDate, postId")
+        })
+@Synchronize("post")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Post implements Serializable {
     @Id
+    @TimeOrderedId
     private UUID postId;
 
     private String owner;
@@ -28,6 +40,7 @@ public class Post implements Serializable {
     private String picture;
 
     @CreationTimestamp
+    @Column(updatable = false)
     private Date createdDate;
 
     @UpdateTimestamp
@@ -35,6 +48,17 @@ public class Post implements Serializable {
 
     private Integer likeCount = 0;
 
+    @Column(columnDefinition = "integer default 0")
+    private Integer commentCount = 0;
+
+    @Column(columnDefinition = "boolean default false")
+    private Boolean fannedOut = false;
+
+    @Column(columnDefinition = "boolean default false")
+    private Boolean deleted = false;
+
+    private Date deletedDate;
+
     @ManyToOne
     @JoinColumn(name = "community_id")
     private Community community;
@@ -0,0 +1,44 @@
+package com.back2261.communityservice.infrastructure.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * One post on a member's materialized home timeline. Rows are written by fan-out when a post is created and are
+ * only read when timeline mode is enabled.
+ */
+@Entity
+@Table(
+        name = "timeline_entry",
+        indexes = {
+            @Index(name = "idx_timeline_user_posted", columnList = "user_id, postedDate, post_id"),
+            @Index(name = "idx_timeline_post", columnList = "post_id"),
+            @Index(name = "idx_timeline_community_user", columnList = "community_id, user_id")
+        })
+@Synchronize("timeline_entry")
+@IdClass(TimelineEntryId.class)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimelineEntry implements Serializable {
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "post_id")
+    private UUID postId;
+
+    @Column(name = "community_id")
+    private UUID communityId;
+
+    private Date postedDate;
+}
@@ -0,0 +1,19 @@
+package com.back2261.communityservice.infrastructure.entity;
+
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimelineEntryId implements Serializable {
+    private String userId;
+    private UUID postId;
+}
@@ -0,0 +1,20 @@
+package com.back2261.communityservice.infrastructure.id;
+
+import java.lang.reflect.Member;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/** Hibernate side of {@link TimeOrderedId}. */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    public TimeOrderedIdGenerator(
+            TimeOrderedId config, Member idMember, CustomIdGeneratorCreationContext creationContext) {
+        // no configuration
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        return TimeOrderedUuid.next();
+    }
+}
@@ -0,0 +1,39 @@
+package com.back2261.communityservice.infrastructure.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by random bits. New ids land at the right
+ * edge of a B-tree primary key instead of on random pages, and ids sort by creation time. Within one millisecond a
+ * 12-bit counter seeded at random keeps ids from this process strictly increasing; when it overflows the timestamp
+ * is advanced by one millisecond.
+ */
+public final class TimeOrderedUuid {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static long lastMillis;
+    private static int counter;
+
+    private TimeOrderedUuid() {}
+
+    public static UUID next() {
+        long millis;
+        int sequence;
+        synchronized (TimeOrderedUuid.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                counter = RANDOM.nextInt(1 << 11);
+            } else if (++counter > 0xFFF) {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,14 @@
+package com.back2261.communityservice.infrastructure.projection;
+
+import java.util.Date;
+import java.util.UUID;
+
+/** Columns of a comment as it is returned to clients, joined with its author; {@code createdDate} keys the cursor. */
+public record CommentSummary(
+        UUID commentId,
+        String username,
+        UUID avatar,
+        String message,
+        Integer likeCount,
+        Date createdDate,
+        Date updatedDate) {}
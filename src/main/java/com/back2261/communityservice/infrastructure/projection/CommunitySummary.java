@@ -0,0 +1,15 @@
+package com.back2261.communityservice.infrastructure.projection;
+
+import java.util.Date;
+import java.util.UUID;
+
+/** Directory columns of a community, read as scalars so they never come from a stale managed entity. */
+public record CommunitySummary(
+        UUID communityId,
+        String name,
+        String description,
+        String communityAvatar,
+        String wallpaper,
+        Date createdDate,
+        Integer memberCount,
+        Integer postCount) {}
@@ -0,0 +1,6 @@
+package com.back2261.communityservice.infrastructure.projection;
+
+import java.util.UUID;
+
+/** Public columns of a gamer listed as a member or liker; credentials and account fields are never selected. */
+public record MemberSummary(String userId, String gamerUsername, UUID avatar) {}
@@ -0,0 +1,21 @@
+package com.back2261.communityservice.infrastructure.projection;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Columns of a post as it is returned to clients, joined with its author and community names. {@code createdDate} is
+ * the immutable key the joined feed is ordered and paged on.
+ */
+public record PostSummary(
+        UUID postId,
+        String username,
+        UUID avatar,
+        String communityName,
+        String title,
+        String body,
+        String picture,
+        Date createdDate,
+        Date updatedDate,
+        Integer likeCount,
+        Integer commentCount) {}
@@ -0,0 +1,14 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+public interface CommentBatchLikeRepository {
+
+    /** Likes every existing comment in one statement and returns the ids whose like row was actually inserted. */
+    Set<UUID> likeAll(String userId, Collection<UUID> commentIds);
+
+    /** Unlikes every comment in one statement and returns the ids whose like row was actually deleted. */
+    Set<UUID> unlikeAll(String userId, Collection<UUID> commentIds);
+}
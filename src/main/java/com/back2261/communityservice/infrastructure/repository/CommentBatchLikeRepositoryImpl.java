@@ -0,0 +1,55 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the batch like statements through JDBC. They are data-modifying CTEs that return the affected ids, which a
+ * Spring Data {@code @Modifying} query cannot do. Comments have no second-level cache region, so no cache needs evicting.
+ */
+public class CommentBatchLikeRepositoryImpl implements CommentBatchLikeRepository {
+
+    private static final String LIKE_ALL_SQL =
+            "with inserted as (insert into %1$scomment_likes_join (comment_id, user_id) select j.comment_id, :userId"
+                + " from %1$spost_comments_join j join %1$spost p on p.post_id = j.post_id join %1$scommunity m on"
+                + " m.community_id = p.community_id where j.comment_id in (:commentIds) and not m.deleted on conflict"
+                + " do nothing returning comment_id) update %1$scomment c set like_count = coalesce(c.like_count, 0) +"
+                + " 1 where c.comment_id in (select comment_id from inserted) returning c.comment_id";
+    private static final String UNLIKE_ALL_SQL = "with deleted as (delete from %1$scomment_likes_join "
+            + "where user_id = :userId and comment_id in (:commentIds) returning comment_id) "
+            + "update %1$scomment c set like_count = greatest(coalesce(c.like_count, 0) - 1, 0) "
+            + "where c.comment_id in (select comment_id from deleted) returning c.comment_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String likeAllSql;
+    private final String unlikeAllSql;
+
+    public CommentBatchLikeRepositoryImpl(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        String prefix = schema == null || schema.isBlank() ? "" : schema + ".";
+        this.likeAllSql = LIKE_ALL_SQL.formatted(prefix);
+        this.unlikeAllSql = UNLIKE_ALL_SQL.formatted(prefix);
+    }
+
+    @Override
+    @Transactional
+    public Set<UUID> likeAll(String userId, Collection<UUID> commentIds) {
+        return new HashSet<>(
+                jdbcTemplate.queryForList(likeAllSql, Map.of("userId", userId, "commentIds", commentIds), UUID.class));
+    }
+
+    @Override
+    @Transactional
+    public Set<UUID> unlikeAll(String userId, Collection<UUID> commentIds) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                unlikeAllSql, Map.of("userId", userId, "commentIds", commentIds), UUID.class));
+    }
+}
@@ -1,9 +1,161 @@
 package com.back2261.communityservice.infrastructure.repository;
 
 import com.back2261.communityservice.infrastructure.entity.Comment;
+import com.back2261.communityservice.infrastructure.projection.CommentSummary;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, UUID> {}
+public interface CommentRepository extends JpaRepository<Comment, UUID>, CommentBatchLikeRepository {
+
+    /** Restricts {@code c} to comments on a post whose community is not deleted. */
+    String IN_ACTIVE_COMMUNITY = "and exists (select 1 from Post p join p.comments pc "
+            + "where pc.commentId = c.commentId and p.community.deleted = false)";
+
+    /** Select clause of {@link CommentSummary}; the query must alias the comment {@code c} and its author {@code g}. */
+    String SUMMARY = "select new com.back2261.communityservice.infrastructure.projection.CommentSummary(c.commentId, "
+            + "g.gamerUsername, g.avatar, c.message, c.likeCount, c.createdDate, c.updatedDate) ";
+
+    @Query(
+            value = "select j.comment_id from {h-schema}comment_likes_join j "
+                    + "where j.user_id = :userId and j.comment_id in (:commentIds)",
+            nativeQuery = true)
+    Set<UUID> findLikedCommentIds(@Param("userId") String userId, @Param("commentIds") Collection<UUID> commentIds);
+
+    /** Adds the like and bumps the counter in one statement; returns 0 when the user already liked the comment. */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment")
+    })
+    @Query(
+            value = "with inserted as (insert into {h-schema}comment_likes_join (comment_id, user_id) "
+                    + "select j.comment_id, :userId from {h-schema}post_comments_join j "
+                    + "join {h-schema}post p on p.post_id = j.post_id "
+                    + "join {h-schema}community m on m.community_id = p.community_id "
+                    + "where j.comment_id = :commentId and not m.deleted "
+                    + "on conflict do nothing returning comment_id) "
+                    + "update {h-schema}comment c set like_count = coalesce(c.like_count, 0) + 1 "
+                    + "where c.comment_id in (select comment_id from inserted)",
+            nativeQuery = true)
+    int like(@Param("commentId") UUID commentId, @Param("userId") String userId);
+
+    /** Removes the like and lowers the counter in one statement; returns 0 when there was no like. */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment")
+    })
+    @Query(
+            value = "with deleted as (delete from {h-schema}comment_likes_join "
+                    + "where comment_id = :commentId and user_id = :userId returning comment_id) "
+                    + "update {h-schema}comment c set like_count = greatest(coalesce(c.like_count, 0) - 1, 0) "
+                    + "where c.comment_id in (select comment_id from deleted)",
+            nativeQuery = true)
+    int unlike(@Param("commentId") UUID commentId, @Param("userId") String userId);
+
+    @Query("select c from Comment c where c.commentId = :commentId and c.deleted = false " + IN_ACTIVE_COMMUNITY)
+    Optional<Comment> findActiveById(@Param("commentId") UUID commentId);
+
+    @Query("select c.owner from Comment c where c.commentId = :commentId and c.deleted = false " + IN_ACTIVE_COMMUNITY)
+    Optional<String> findActiveOwner(@Param("commentId") UUID commentId);
+
+    @Query("select count(c) > 0 from Comment c where c.commentId = :commentId and c.deleted = false "
+            + IN_ACTIVE_COMMUNITY)
+    boolean existsActiveById(@Param("commentId") UUID commentId);
+
+    @Transactional
+    @Modifying
+    @Query("update Comment c set c.deleted = true, c.deletedDate = current_timestamp "
+            + "where c.commentId = :commentId and c.deleted = false")
+    int markDeleted(@Param("commentId") UUID commentId);
+
+    /** Removes comments tombstoned before the cutoff together with their like and post links. */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_comments_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment")
+    })
+    @Query(
+            value = "with doomed as (select c.comment_id from {h-schema}comment c "
+                    + "where c.deleted and c.deleted_date < :cutoff limit :chunkSize), "
+                    + "likes as (delete from {h-schema}comment_likes_join j using doomed d "
+                    + "where j.comment_id = d.comment_id), "
+                    + "links as (delete from {h-schema}post_comments_join j using doomed d "
+                    + "where j.comment_id = d.comment_id) "
+                    + "delete from {h-schema}comment c using doomed d where c.comment_id = d.comment_id",
+            nativeQuery = true)
+    int compact(@Param("cutoff") Date cutoff, @Param("chunkSize") int chunkSize);
+
+    @Query("select c.commentId from Comment c where c.commentId in :commentIds and c.deleted = false "
+            + IN_ACTIVE_COMMUNITY)
+    Set<UUID> findExistingIds(@Param("commentIds") Collection<UUID> commentIds);
+
+    @Query(SUMMARY + "from Comment c join Gamer g on g.userId = c.owner where c.postId = :postId and c.deleted = false "
+            + "order by c.createdDate desc, c.commentId desc")
+    List<CommentSummary> findNewest(@Param("postId") UUID postId, Pageable pageable);
+
+    @Query(SUMMARY + "from Comment c join Gamer g on g.userId = c.owner where c.postId = :postId and c.deleted = false "
+            + "and (c.createdDate, c.commentId) < (:createdDate, :commentId) "
+            + "order by c.createdDate desc, c.commentId desc")
+    List<CommentSummary> findNewestAfter(
+            @Param("postId") UUID postId,
+            @Param("createdDate") Date createdDate,
+            @Param("commentId") UUID commentId,
+            Pageable pageable);
+
+    @Query(SUMMARY + "from Comment c join Gamer g on g.userId = c.owner where c.postId = :postId and c.deleted = false "
+            + "order by c.createdDate asc, c.commentId asc")
+    List<CommentSummary> findOldest(@Param("postId") UUID postId, Pageable pageable);
+
+    @Query(SUMMARY + "from Comment c join Gamer g on g.userId = c.owner where c.postId = :postId and c.deleted = false "
+            + "and (c.createdDate, c.commentId) > (:createdDate, :commentId) "
+            + "order by c.createdDate asc, c.commentId asc")
+    List<CommentSummary> findOldestAfter(
+            @Param("postId") UUID postId,
+            @Param("createdDate") Date createdDate,
+            @Param("commentId") UUID commentId,
+            Pageable pageable);
+
+    @Query(SUMMARY + "from Comment c join Gamer g on g.userId = c.owner where c.postId = :postId and c.deleted = false "
+            + "order by c.likeCount desc, c.createdDate desc, c.commentId desc")
+    List<CommentSummary> findMostLiked(@Param("postId") UUID postId, Pageable pageable);
+
+    @Query(SUMMARY + "from Comment c join Gamer g on g.userId = c.owner where c.postId = :postId and c.deleted = false "
+            + "and (c.likeCount, c.createdDate, c.commentId) < (:likeCount, :createdDate, :commentId) "
+            + "order by c.likeCount desc, c.createdDate desc, c.commentId desc")
+    List<CommentSummary> findMostLikedAfter(
+            @Param("postId") UUID postId,
+            @Param("likeCount") Integer likeCount,
+            @Param("createdDate") Date createdDate,
+            @Param("commentId") UUID commentId,
+            Pageable pageable);
+
+    /** Copies the post id of comments created before {@code comment.post_id} existed from the join table. */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment"))
+    @Query(
+            value = "update {h-schema}comment c set post_id = j.post_id from {h-schema}post_comments_join j "
+                    + "where j.comment_id = c.comment_id and c.post_id is distinct from j.post_id",
+            nativeQuery = true)
+    int reconcilePostIds();
+}
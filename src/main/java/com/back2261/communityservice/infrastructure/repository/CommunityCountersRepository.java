@@ -0,0 +1,56 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import com.back2261.communityservice.infrastructure.entity.CommunityCounters;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CommunityCountersRepository extends JpaRepository<CommunityCounters, UUID> {
+
+    @Query("select k.memberCount from CommunityCounters k where k.communityId = :communityId")
+    Optional<Integer> findMemberCount(@Param("communityId") UUID communityId);
+
+    /** Creates the row on first use, so a community whose counters were never backfilled still counts. */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_counters"))
+    @Query(
+            value = "insert into {h-schema}community_counters (community_id, member_count, post_count) "
+                    + "values (:communityId, 0, greatest(:delta, 0)) "
+                    + "on conflict (community_id) do update set post_count = "
+                    + "greatest(coalesce(community_counters.post_count, 0) + :delta, 0)",
+            nativeQuery = true)
+    int addPostCount(@Param("communityId") UUID communityId, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CommunityCounters k where k.communityId = :communityId")
+    int deleteCounters(@Param("communityId") UUID communityId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_counters"))
+    @Query(
+            value = "insert into {h-schema}community_counters (community_id, member_count, post_count) "
+                    + "select c.community_id, "
+                    + "(select count(*) from {h-schema}community_members_join j "
+                    + "where j.community_id = c.community_id), "
+                    + "(select count(*) from {h-schema}post p "
+                    + "where p.community_id = c.community_id and not p.deleted) "
+                    + "from {h-schema}community c "
+                    + "on conflict (community_id) do update set member_count = excluded.member_count, "
+                    + "post_count = excluded.post_count "
+                    + "where community_counters.member_count is distinct from excluded.member_count "
+                    + "or community_counters.post_count is distinct from excluded.post_count",
+            nativeQuery = true)
+    int reconcileCounters();
+}
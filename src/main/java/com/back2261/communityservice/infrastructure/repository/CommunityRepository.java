@@ -1,9 +1,170 @@
 package com.back2261.communityservice.infrastructure.repository;
 
 import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.projection.CommunitySummary;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface CommunityRepository extends JpaRepository<Community, UUID> {}
+public interface CommunityRepository extends JpaRepository<Community, UUID> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select c from Community c where c.communityId = :communityId and c.deleted = false")
+    Optional<Community> findActiveById(@Param("communityId") UUID communityId);
+
+    @Query("select count(c) > 0 from Community c where c.communityId = :communityId and c.deleted = false")
+    boolean existsActiveById(@Param("communityId") UUID communityId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select c.owner.userId from Community c where c.communityId = :communityId and c.deleted = false")
+    Optional<String> findActiveOwnerId(@Param("communityId") UUID communityId);
+
+    @Query("select new com.back2261.communityservice.infrastructure.projection.CommunitySummary(c.communityId, "
+            + "c.name, c.description, c.communityAvatar, c.wallpaper, c.createdDate, coalesce(k.memberCount, 0), "
+            + "coalesce(k.postCount, 0)) from Community c "
+            + "left join CommunityCounters k on k.communityId = c.communityId where c.deleted = false")
+    List<CommunitySummary> findActiveSummaries();
+
+    @Query("select new com.back2261.communityservice.infrastructure.projection.CommunitySummary(c.communityId,"
+            + " c.name, c.description, c.communityAvatar, c.wallpaper, c.createdDate, coalesce(k.memberCount, 0),"
+            + " coalesce(k.postCount, 0)) from Community c left join CommunityCounters k on k.communityId ="
+            + " c.communityId where c.communityId = :communityId and c.deleted = false")
+    Optional<CommunitySummary> findActiveSummary(@Param("communityId") UUID communityId);
+
+    @Query("select c.communityId from Community c where c.deleted = true order by c.deletedDate")
+    List<UUID> findDeletedIds();
+
+    @Transactional
+    @Modifying
+    @Query("update Community c set c.deleted = true, c.deletedDate = current_timestamp "
+            + "where c.communityId = :communityId and c.deleted = false")
+    int markDeleted(@Param("communityId") UUID communityId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes_join"))
+    @Query(
+            value = "delete from {h-schema}comment_likes_join where ctid = any(array("
+                    + "select j.ctid from {h-schema}comment_likes_join j "
+                    + "join {h-schema}post_comments_join pc on pc.comment_id = j.comment_id "
+                    + "join {h-schema}post p on p.post_id = pc.post_id "
+                    + "where p.community_id = :communityId limit :chunkSize))",
+            nativeQuery = true)
+    int purgeCommentLikes(@Param("communityId") UUID communityId, @Param("chunkSize") int chunkSize);
+
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_comments_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment")
+    })
+    @Query(
+            value = "with doomed as (select pc.comment_id from {h-schema}post_comments_join pc "
+                    + "join {h-schema}post p on p.post_id = pc.post_id "
+                    + "where p.community_id = :communityId limit :chunkSize), "
+                    + "unlinked as (delete from {h-schema}post_comments_join pc using doomed d "
+                    + "where pc.comment_id = d.comment_id returning pc.comment_id) "
+                    + "delete from {h-schema}comment c using unlinked u where c.comment_id = u.comment_id",
+            nativeQuery = true)
+    int purgeComments(@Param("communityId") UUID communityId, @Param("chunkSize") int chunkSize);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_likes_join"))
+    @Query(
+            value = "delete from {h-schema}post_likes_join where ctid = any(array("
+                    + "select j.ctid from {h-schema}post_likes_join j "
+                    + "join {h-schema}post p on p.post_id = j.post_id "
+                    + "where p.community_id = :communityId limit :chunkSize))",
+            nativeQuery = true)
+    int purgePostLikes(@Param("communityId") UUID communityId, @Param("chunkSize") int chunkSize);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entry"))
+    @Query(
+            value = "delete from {h-schema}timeline_entry where ctid = any(array("
+                    + "select t.ctid from {h-schema}timeline_entry t "
+                    + "where t.community_id = :communityId limit :chunkSize))",
+            nativeQuery = true)
+    int purgeTimeline(@Param("communityId") UUID communityId, @Param("chunkSize") int chunkSize);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post"))
+    @Query(
+            value = "delete from {h-schema}post where post_id in ("
+                    + "select p.post_id from {h-schema}post p where p.community_id = :communityId limit :chunkSize)",
+            nativeQuery = true)
+    int purgePosts(@Param("communityId") UUID communityId, @Param("chunkSize") int chunkSize);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_members_join"))
+    @Query(
+            value = "delete from {h-schema}community_members_join where ctid = any(array("
+                    + "select j.ctid from {h-schema}community_members_join j "
+                    + "where j.community_id = :communityId limit :chunkSize))",
+            nativeQuery = true)
+    int purgeMembers(@Param("communityId") UUID communityId, @Param("chunkSize") int chunkSize);
+
+    @Query("select m.userId from Community c join c.members m where c.communityId = :communityId")
+    Set<String> findMemberIds(@Param("communityId") UUID communityId);
+
+    @Query(
+            value = "select j.community_id from {h-schema}community_members_join j where j.user_id = :userId",
+            nativeQuery = true)
+    Set<UUID> findJoinedCommunityIds(@Param("userId") String userId);
+
+    @Query(
+            value = "select exists (select 1 from {h-schema}community_members_join j "
+                    + "where j.community_id = :communityId and j.user_id = :userId)",
+            nativeQuery = true)
+    boolean existsMember(@Param("communityId") UUID communityId, @Param("userId") String userId);
+
+    /**
+     * Adds the member and bumps the counter in one statement; returns 0 when the user is already a member. Only the
+     * uncached counters row is written, so the cached community stays in place.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_members_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_counters")
+    })
+    @Query(
+            value = "with inserted as (insert into {h-schema}community_members_join (community_id, user_id) "
+                    + "values (:communityId, :userId) on conflict do nothing returning community_id) "
+                    + "insert into {h-schema}community_counters (community_id, member_count, post_count) "
+                    + "select community_id, 1, 0 from inserted on conflict (community_id) do update set "
+                    + "member_count = coalesce(community_counters.member_count, 0) + 1",
+            nativeQuery = true)
+    int addMember(@Param("communityId") UUID communityId, @Param("userId") String userId);
+
+    /** Removes the member and lowers the counter in one statement; returns 0 when the user was not a member. */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_members_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "community_counters")
+    })
+    @Query(
+            value = "with deleted as (delete from {h-schema}community_members_join "
+                    + "where community_id = :communityId and user_id = :userId returning community_id) "
+                    + "insert into {h-schema}community_counters (community_id, member_count, post_count) "
+                    + "select community_id, 0, 0 from deleted on conflict (community_id) do update set "
+                    + "member_count = greatest(coalesce(community_counters.member_count, 0) - 1, 0)",
+            nativeQuery = true)
+    int removeMember(@Param("communityId") UUID communityId, @Param("userId") String userId);
+}
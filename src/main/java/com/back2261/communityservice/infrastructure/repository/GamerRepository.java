@@ -1,12 +1,35 @@
 package com.back2261.communityservice.infrastructure.repository;
 
 import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.back2261.communityservice.infrastructure.projection.MemberSummary;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface GamerRepository extends JpaRepository<Gamer, String> {
 
+    /** Select clause of {@link MemberSummary} for a gamer joined as {@code m}. */
+    String SUMMARY = "select new com.back2261.communityservice.infrastructure.projection.MemberSummary(m.userId, "
+            + "m.gamerUsername, m.avatar) ";
+
     Optional<Gamer> findByEmail(String email);
+
+    @Query(SUMMARY + "from Community c join c.members m where c.communityId = :communityId and m.userId > :after "
+            + "order by m.userId")
+    List<MemberSummary> findMembers(
+            @Param("communityId") UUID communityId, @Param("after") String after, Pageable pageable);
+
+    @Query(SUMMARY + "from Post p join p.likes m where p.postId = :postId and m.userId > :after order by m.userId")
+    List<MemberSummary> findPostLikes(@Param("postId") UUID postId, @Param("after") String after, Pageable pageable);
+
+    @Query(SUMMARY + "from Comment c join c.likes m where c.commentId = :commentId and m.userId > :after "
+            + "order by m.userId")
+    List<MemberSummary> findCommentLikes(
+            @Param("commentId") UUID commentId, @Param("after") String after, Pageable pageable);
 }
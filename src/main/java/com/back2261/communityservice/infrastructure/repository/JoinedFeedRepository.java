@@ -0,0 +1,21 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public interface JoinedFeedRepository {
+
+    /** First page of the posts of every community the user joined, newest posted first. */
+    List<PostSummary> findJoinedFeed(String userId, int limit);
+
+    /** Page of the joined feed that continues after the post with the given posted date and id. */
+    List<PostSummary> findJoinedFeedAfter(String userId, Date createdDate, UUID postId, int limit);
+
+    /** Like {@link #findJoinedFeed}, limited to posts that were not fanned out to home timelines. */
+    List<PostSummary> findJoinedFeedNotFannedOut(String userId, int limit);
+
+    /** Like {@link #findJoinedFeedAfter}, limited to posts that were not fanned out to home timelines. */
+    List<PostSummary> findJoinedFeedNotFannedOutAfter(String userId, Date createdDate, UUID postId, int limit);
+}
@@ -0,0 +1,90 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Reads the joined feed through JDBC. A JPQL join of all joined communities' posts sorted by date cannot seek the
+ * per-community index, so Postgres reads and sorts every post of every joined community before applying the limit.
+ * Here each community is read in a {@code LATERAL} subquery that walks {@code idx_post_community_created} (or
+ * {@code idx_post_community_pulled_created}) backwards from the cursor with a row-value comparison and stops after
+ * {@code limit} rows, and only those rows are merged. The work per page is bounded by joined communities times the
+ * page size, whatever the size of the communities.
+ */
+public class JoinedFeedRepositoryImpl implements JoinedFeedRepository {
+
+    private static final String FEED_SQL = "select p.post_id, p.username, p.avatar, c.name, p.title, p.body, "
+            + "p.picture, p.created_date, p.updated_date, p.like_count, p.comment_count "
+            + "from %1$scommunity_members_join m "
+            + "join %1$scommunity c on c.community_id = m.community_id and not c.deleted "
+            + "cross join lateral (select p.*, g.username, g.avatar from %1$spost p "
+            + "join schauth.gamer g on g.user_id = p.owner "
+            + "where p.community_id = m.community_id and not p.deleted%2$s%3$s "
+            + "order by p.created_date desc, p.post_id desc limit :limit) p "
+            + "where m.user_id = :userId "
+            + "order by p.created_date desc, p.post_id desc limit :limit";
+    private static final String NOT_FANNED_OUT = " and not p.fanned_out";
+    private static final String AFTER = " and (p.created_date, p.post_id) < (:createdDate, :postId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String prefix;
+
+    public JoinedFeedRepositoryImpl(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = schema == null || schema.isBlank() ? "" : schema + ".";
+    }
+
+    @Override
+    public List<PostSummary> findJoinedFeed(String userId, int limit) {
+        return jdbcTemplate.query(feedSql(false, false), Map.of("userId", userId, "limit", limit), this::mapRow);
+    }
+
+    @Override
+    public List<PostSummary> findJoinedFeedAfter(String userId, Date createdDate, UUID postId, int limit) {
+        return jdbcTemplate.query(
+                feedSql(false, true), afterParameters(userId, createdDate, postId, limit), this::mapRow);
+    }
+
+    @Override
+    public List<PostSummary> findJoinedFeedNotFannedOut(String userId, int limit) {
+        return jdbcTemplate.query(feedSql(true, false), Map.of("userId", userId, "limit", limit), this::mapRow);
+    }
+
+    @Override
+    public List<PostSummary> findJoinedFeedNotFannedOutAfter(String userId, Date createdDate, UUID postId, int limit) {
+        return jdbcTemplate.query(
+                feedSql(true, true), afterParameters(userId, createdDate, postId, limit), this::mapRow);
+    }
+
+    String feedSql(boolean notFannedOut, boolean after) {
+        return FEED_SQL.formatted(prefix, notFannedOut ? NOT_FANNED_OUT : "", after ? AFTER : "");
+    }
+
+    private static Map<String, Object> afterParameters(String userId, Date createdDate, UUID postId, int limit) {
+        return Map.of("userId", userId, "createdDate", createdDate, "postId", postId, "limit", limit);
+    }
+
+    private PostSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new PostSummary(
+                rs.getObject("post_id", UUID.class),
+                rs.getString("username"),
+                rs.getObject("avatar", UUID.class),
+                rs.getString("name"),
+                rs.getString("title"),
+                rs.getString("body"),
+                rs.getString("picture"),
+                rs.getTimestamp("created_date"),
+                rs.getTimestamp("updated_date"),
+                rs.getObject("like_count", Integer.class),
+                rs.getObject("comment_count", Integer.class));
+    }
+}
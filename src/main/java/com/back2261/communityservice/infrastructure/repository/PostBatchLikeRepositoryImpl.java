@@ -0,0 +1,55 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the batch like statements through JDBC. They are data-modifying CTEs that return the affected ids, which a
+ * Spring Data {@code @Modifying} query cannot do. Posts have no second-level cache region, so no cache needs evicting.
+ */
+public class PostBatchLikeRepositoryImpl implements PostBatchLikeRepository {
+
+    private static final String LIKE_ALL_SQL = "with inserted as (insert into %1$spost_likes_join (post_id, user_id) "
+            + "select p.post_id, :userId from %1$spost p join %1$scommunity m on m.community_id = p.community_id "
+            + "where p.post_id in (:postIds) and not m.deleted "
+            + "on conflict do nothing returning post_id) "
+            + "update %1$spost p set like_count = coalesce(p.like_count, 0) + 1 "
+            + "where p.post_id in (select post_id from inserted) returning p.post_id";
+    private static final String UNLIKE_ALL_SQL = "with deleted as (delete from %1$spost_likes_join "
+            + "where user_id = :userId and post_id in (:postIds) returning post_id) "
+            + "update %1$spost p set like_count = greatest(coalesce(p.like_count, 0) - 1, 0) "
+            + "where p.post_id in (select post_id from deleted) returning p.post_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String likeAllSql;
+    private final String unlikeAllSql;
+
+    public PostBatchLikeRepositoryImpl(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        String prefix = schema == null || schema.isBlank() ? "" : schema + ".";
+        this.likeAllSql = LIKE_ALL_SQL.formatted(prefix);
+        this.unlikeAllSql = UNLIKE_ALL_SQL.formatted(prefix);
+    }
+
+    @Override
+    @Transactional
+    public Set<UUID> likeAll(String userId, Collection<UUID> postIds) {
+        return new HashSet<>(
+                jdbcTemplate.queryForList(likeAllSql, Map.of("userId", userId, "postIds", postIds), UUID.class));
+    }
+
+    @Override
+    @Transactional
+    public Set<UUID> unlikeAll(String userId, Collection<UUID> postIds) {
+        return new HashSet<>(
+                jdbcTemplate.queryForList(unlikeAllSql, Map.of("userId", userId, "postIds", postIds), UUID.class));
+    }
+}
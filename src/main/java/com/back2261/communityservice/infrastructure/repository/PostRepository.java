@@ -1,9 +1,175 @@
 package com.back2261.communityservice.infrastructure.repository;
 
 import com.back2261.communityservice.infrastructure.entity.Post;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, UUID> {}
+public interface PostRepository extends JpaRepository<Post, UUID>, PostBatchLikeRepository, JoinedFeedRepository {
+
+    /** Select clause of {@link PostSummary}; the query must join {@code p.community c} and the author as {@code g}. */
+    String SUMMARY = "select new com.back2261.communityservice.infrastructure.projection.PostSummary(p.postId,"
+        + " g.gamerUsername, g.avatar, c.name, p.title, p.body, p.picture, p.createdDate, p.updatedDate, p.likeCount,"
+        + " p.commentCount) ";
+
+    /**
+     * Hash of every {@code p} row's id, last update and counters in id order; unlike a sum, moving a counter from one
+     * post to another changes it.
+     */
+    String POSTS_VERSION = "md5(coalesce(string_agg(cast(p.post_id as text) "
+            + "|| ':' || coalesce(cast(p.updated_date as text), '') || ':' || coalesce(p.like_count, 0) "
+            + "|| ':' || coalesce(p.comment_count, 0), ',' order by p.post_id), ''))";
+
+    /** Hash of the liked post ids in {@code l}, in id order. */
+    String LIKES_VERSION = "md5(coalesce(string_agg(cast(l.post_id as text), ',' order by l.post_id), ''))";
+
+    @Query(SUMMARY + "from Post p join p.community c join Gamer g on g.userId = p.owner "
+            + "where c.communityId = :communityId and p.deleted = false "
+            + "order by p.updatedDate desc, p.postId desc")
+    List<PostSummary> findCommunityPosts(@Param("communityId") UUID communityId);
+
+    @Query(
+            value = "select j.post_id from {h-schema}post_likes_join j "
+                    + "where j.user_id = :userId and j.post_id in (:postIds)",
+            nativeQuery = true)
+    Set<UUID> findLikedPostIds(@Param("userId") String userId, @Param("postIds") Collection<UUID> postIds);
+
+    /**
+     * Version stamp of a community's post list for the user, built from the posts and the user's likes. Empty when
+     * the community does not exist or is deleted.
+     */
+    @Query(
+            value = "select " + POSTS_VERSION + " || ':' || (select " + LIKES_VERSION + " "
+                    + "from {h-schema}post_likes_join l join {h-schema}post p2 on p2.post_id = l.post_id "
+                    + "where l.user_id = :userId and p2.community_id = :communityId and not p2.deleted) "
+                    + "from {h-schema}community c left join {h-schema}post p "
+                    + "on p.community_id = c.community_id and not p.deleted "
+                    + "where c.community_id = :communityId and not c.deleted group by c.community_id",
+            nativeQuery = true)
+    Optional<String> findCommunityPostsVersion(@Param("communityId") UUID communityId, @Param("userId") String userId);
+
+    /** Adds the like and bumps the counter in one statement; returns 0 when the user already liked the post. */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_likes_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post")
+    })
+    @Query(
+            value = "with inserted as (insert into {h-schema}post_likes_join (post_id, user_id) "
+                    + "select p.post_id, :userId from {h-schema}post p "
+                    + "join {h-schema}community m on m.community_id = p.community_id "
+                    + "where p.post_id = :postId and not m.deleted on conflict do nothing returning post_id) "
+                    + "update {h-schema}post p set like_count = coalesce(p.like_count, 0) + 1 "
+                    + "where p.post_id in (select post_id from inserted)",
+            nativeQuery = true)
+    int like(@Param("postId") UUID postId, @Param("userId") String userId);
+
+    /** Removes the like and lowers the counter in one statement; returns 0 when there was no like. */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_likes_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post")
+    })
+    @Query(
+            value = "with deleted as (delete from {h-schema}post_likes_join "
+                    + "where post_id = :postId and user_id = :userId returning post_id) "
+                    + "update {h-schema}post p set like_count = greatest(coalesce(p.like_count, 0) - 1, 0) "
+                    + "where p.post_id in (select post_id from deleted)",
+            nativeQuery = true)
+    int unlike(@Param("postId") UUID postId, @Param("userId") String userId);
+
+    /** Server-side cursor over a community's posts, newest first; must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "100"))
+    @Query(SUMMARY + "from Post p join p.community c join Gamer g on g.userId = p.owner "
+            + "where c.communityId = :communityId and p.deleted = false "
+            + "order by p.updatedDate desc, p.postId desc")
+    Stream<PostSummary> streamByCommunity(@Param("communityId") UUID communityId);
+
+    @Query("select p from Post p where p.postId = :postId and p.deleted = false and p.community.deleted = false")
+    Optional<Post> findActiveById(@Param("postId") UUID postId);
+
+    @Query("select p.owner from Post p where p.postId = :postId and p.deleted = false "
+            + "and p.community.deleted = false")
+    Optional<String> findActiveOwner(@Param("postId") UUID postId);
+
+    @Query("select count(p) > 0 from Post p where p.postId = :postId and p.deleted = false "
+            + "and p.community.deleted = false")
+    boolean existsActiveById(@Param("postId") UUID postId);
+
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.deleted = true, p.deletedDate = current_timestamp "
+            + "where p.postId = :postId and p.deleted = false")
+    int markDeleted(@Param("postId") UUID postId);
+
+    /** Removes posts tombstoned before the cutoff with their comments, likes, comment links and timeline rows. */
+    @Transactional
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_comments_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post_likes_join"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entry"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post")
+    })
+    @Query(
+            value = "with doomed as (select p.post_id from {h-schema}post p "
+                    + "where p.deleted and p.deleted_date < :cutoff limit :chunkSize), "
+                    + "comments as (select j.comment_id from {h-schema}post_comments_join j "
+                    + "join doomed d on d.post_id = j.post_id), "
+                    + "comment_likes as (delete from {h-schema}comment_likes_join l using comments c "
+                    + "where l.comment_id = c.comment_id), "
+                    + "links as (delete from {h-schema}post_comments_join j using doomed d "
+                    + "where j.post_id = d.post_id), "
+                    + "removed_comments as (delete from {h-schema}comment c using comments x "
+                    + "where c.comment_id = x.comment_id), "
+                    + "post_likes as (delete from {h-schema}post_likes_join l using doomed d "
+                    + "where l.post_id = d.post_id), "
+                    + "timeline as (delete from {h-schema}timeline_entry t using doomed d "
+                    + "where t.post_id = d.post_id) "
+                    + "delete from {h-schema}post p using doomed d where p.post_id = d.post_id",
+            nativeQuery = true)
+    int compact(@Param("cutoff") Date cutoff, @Param("chunkSize") int chunkSize);
+
+    @Query("select p.postId from Post p where p.postId in :postIds and p.deleted = false "
+            + "and p.community.deleted = false")
+    Set<UUID> findExistingIds(@Param("postIds") Collection<UUID> postIds);
+
+    @Query("select p.postId from Post p join p.comments c where c.commentId = :commentId")
+    Optional<UUID> findPostIdByCommentId(@Param("commentId") UUID commentId);
+
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount + :delta where p.postId = :postId")
+    int addCommentCount(@Param("postId") UUID postId, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "post"))
+    @Query(
+            value = "update {h-schema}post p set comment_count = counts.comments "
+                    + "from (select p2.post_id, (select count(*) from {h-schema}post_comments_join j "
+                    + "join {h-schema}comment c on c.comment_id = j.comment_id "
+                    + "where j.post_id = p2.post_id and not c.deleted) as comments from {h-schema}post p2) counts "
+                    + "where counts.post_id = p.post_id and p.comment_count is distinct from counts.comments",
+            nativeQuery = true)
+    int reconcileCommentCounts();
+}
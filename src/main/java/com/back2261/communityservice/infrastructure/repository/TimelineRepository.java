@@ -0,0 +1,76 @@
+package com.back2261.communityservice.infrastructure.repository;
+
+import com.back2261.communityservice.infrastructure.entity.TimelineEntry;
+import com.back2261.communityservice.infrastructure.entity.TimelineEntryId;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import jakarta.persistence.QueryHint;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TimelineRepository extends JpaRepository<TimelineEntry, TimelineEntryId> {
+
+    @Query(PostRepository.SUMMARY + "from TimelineEntry t join Post p on p.postId = t.postId join p.community c "
+            + "join Gamer g on g.userId = p.owner where t.userId = :userId and c.deleted = false and p.deleted = false "
+            + "order by t.postedDate desc, t.postId desc")
+    List<PostSummary> findTimeline(@Param("userId") String userId, Pageable pageable);
+
+    @Query(PostRepository.SUMMARY + "from TimelineEntry t join Post p on p.postId = t.postId join p.community c "
+            + "join Gamer g on g.userId = p.owner where t.userId = :userId and c.deleted = false and p.deleted = false "
+            + "and (t.postedDate < :postedDate or (t.postedDate = :postedDate and t.postId < :postId)) "
+            + "order by t.postedDate desc, t.postId desc")
+    List<PostSummary> findTimelineAfter(
+            @Param("userId") String userId,
+            @Param("postedDate") Date postedDate,
+            @Param("postId") UUID postId,
+            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entry"))
+    @Query(
+            value = "insert into {h-schema}timeline_entry (user_id, post_id, community_id, posted_date) "
+                    + "select j.user_id, p.post_id, p.community_id, p.created_date from {h-schema}post p "
+                    + "join {h-schema}community_members_join j on j.community_id = p.community_id "
+                    + "where p.post_id = :postId on conflict do nothing",
+            nativeQuery = true)
+    int fanOut(@Param("postId") UUID postId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entry"))
+    @Query(
+            value = "insert into {h-schema}timeline_entry (user_id, post_id, community_id, posted_date) "
+                    + "select :userId, p.post_id, p.community_id, p.created_date from {h-schema}post p "
+                    + "where p.community_id = :communityId and p.fanned_out "
+                    + "order by p.created_date desc, p.post_id desc limit :limit on conflict do nothing",
+            nativeQuery = true)
+    int backfill(@Param("userId") String userId, @Param("communityId") UUID communityId, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TimelineEntry t where t.userId = :userId and t.communityId = :communityId")
+    int deleteByMember(@Param("userId") String userId, @Param("communityId") UUID communityId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "timeline_entry"))
+    @Query(
+            value = "delete from {h-schema}timeline_entry t using (select user_id, post_id, row_number() over "
+                    + "(partition by user_id order by posted_date desc, post_id desc) as position "
+                    + "from {h-schema}timeline_entry) ranked "
+                    + "where ranked.user_id = t.user_id and ranked.post_id = t.post_id "
+                    + "and ranked.position > :maxEntries",
+            nativeQuery = true)
+    int trim(@Param("maxEntries") int maxEntries);
+}
@@ -12,5 +12,6 @@ public class CommentDto {
     private String avatar;
     private String message;
     private Integer likeCount;
+    private Boolean isLiked;
     private Date updatedDate;
 }
@@ -10,4 +10,5 @@ import lombok.Setter;
 public class CommentsResponseBody extends BaseModel {
 
     List<CommentDto> comments;
+    String nextCursor;
 }
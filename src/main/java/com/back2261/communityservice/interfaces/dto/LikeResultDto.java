@@ -0,0 +1,16 @@
+package com.back2261.communityservice.interfaces.dto;
+
+import com.back2261.communityservice.interfaces.enums.LikeOperation;
+import com.back2261.communityservice.interfaces.enums.LikeTarget;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LikeResultDto {
+
+    private LikeTarget target;
+    private String id;
+    private LikeOperation operation;
+    private Integer code;
+}
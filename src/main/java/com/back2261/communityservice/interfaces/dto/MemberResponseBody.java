@@ -10,4 +10,5 @@ import lombok.Setter;
 public class MemberResponseBody extends BaseModel {
 
     private List<GamerDto> members;
+    private String nextCursor;
 }
@@ -10,4 +10,5 @@ import lombok.Setter;
 public class PostResponseBody extends BaseModel {
 
     private List<PostDto> posts;
+    private String nextCursor;
 }
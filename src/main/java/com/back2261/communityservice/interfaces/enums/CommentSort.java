@@ -0,0 +1,7 @@
+package com.back2261.communityservice.interfaces.enums;
+
+public enum CommentSort {
+    NEWEST,
+    OLDEST,
+    MOST_LIKED
+}
@@ -0,0 +1,6 @@
+package com.back2261.communityservice.interfaces.enums;
+
+public enum LikeTarget {
+    POST,
+    COMMENT
+}
@@ -0,0 +1,16 @@
+package com.back2261.communityservice.interfaces.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BatchLikeRequest {
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "At most 100 items can be sent at once")
+    private List<@Valid LikeItemRequest> items;
+}
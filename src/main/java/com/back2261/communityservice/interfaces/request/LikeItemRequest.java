@@ -0,0 +1,21 @@
+package com.back2261.communityservice.interfaces.request;
+
+import com.back2261.communityservice.interfaces.enums.LikeOperation;
+import com.back2261.communityservice.interfaces.enums.LikeTarget;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LikeItemRequest {
+    @NotNull(message = "Target is required")
+    private LikeTarget target;
+
+    @NotBlank(message = "Id is required")
+    private String id;
+
+    @NotNull(message = "Operation is required")
+    private LikeOperation operation;
+}
@@ -0,0 +1,6 @@
+package com.back2261.communityservice.interfaces.response;
+
+import com.back2261.communityservice.interfaces.dto.BatchLikeResponseBody;
+import io.github.GameBuddyDevs.backendlibrary.base.BaseResponse;
+
+public class BatchLikeResponse extends BaseResponse<BatchLikeResponseBody> {}
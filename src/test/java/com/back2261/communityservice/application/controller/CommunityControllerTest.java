@@ -1,15 +1,25 @@
 package com.back2261.communityservice.application.controller;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.back2261.communityservice.domain.cache.VerifiedTokenCache;
+import com.back2261.communityservice.domain.pagination.InvalidCursorException;
 import com.back2261.communityservice.domain.service.DefaultCommunityService;
 import com.back2261.communityservice.interfaces.dto.*;
+import com.back2261.communityservice.interfaces.enums.CommentSort;
+import com.back2261.communityservice.interfaces.enums.LikeOperation;
+import com.back2261.communityservice.interfaces.enums.LikeTarget;
+import com.back2261.communityservice.interfaces.request.BatchLikeRequest;
 import com.back2261.communityservice.interfaces.request.CommunityRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommentRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommunityRequest;
+import com.back2261.communityservice.interfaces.request.LikeItemRequest;
 import com.back2261.communityservice.interfaces.request.PostRequest;
+import com.back2261.communityservice.interfaces.response.BatchLikeResponse;
 import com.back2261.communityservice.interfaces.response.CommentsResponse;
 import com.back2261.communityservice.interfaces.response.CommunityResponse;
 import com.back2261.communityservice.interfaces.response.MemberResponse;
@@ -24,6 +34,7 @@ import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -49,6 +60,9 @@ class CommunityControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
     @MockBean
     private UserDetailsService userDetailsService;
 
@@ -103,6 +117,36 @@ class CommunityControllerTest {
         assertEquals(2, communityResponse1.getBody().getData().getCommunities().size());
     }
 
+    @Test
+    void testGetCommunities_whenVersionUnchanged_shouldReturnNotModified() throws Exception {
+        Mockito.when(defaultCommunityService.getCommunitiesVersion(token)).thenReturn("v1");
+
+        var request = MockMvcRequestBuilders.get("/community/get/communities")
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", "\"v1\"");
+        var response =
+                mockMvc.perform(request).andExpect(status().isNotModified()).andReturn();
+
+        assertEquals("\"v1\"", response.getResponse().getHeader("ETag"));
+        assertEquals(0, response.getResponse().getContentLength());
+        Mockito.verify(defaultCommunityService, Mockito.never()).getCommunities(Mockito.anyString());
+    }
+
+    @Test
+    void testGetCommunities_whenVersionChanged_shouldReturnBodyWithETag() throws Exception {
+        CommunityResponse communityResponse = new CommunityResponse();
+        communityResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
+        Mockito.when(defaultCommunityService.getCommunitiesVersion(token)).thenReturn("v2");
+        Mockito.when(defaultCommunityService.getCommunities(token)).thenReturn(communityResponse);
+
+        var request = MockMvcRequestBuilders.get("/community/get/communities")
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", "\"v1\"");
+        var response = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+
+        assertEquals("\"v2\"", response.getResponse().getHeader("ETag"));
+    }
+
     @Test
     void testGetMembers_whenValidCommunityIdProvided_shouldReturnMembersOfTheCommunity() throws Exception {
         MemberResponse memberResponse = new MemberResponse();
@@ -117,7 +161,8 @@ class CommunityControllerTest {
         members.add(gamerDto);
         body.setMembers(members);
         memberResponse.setBody(new BaseBody<>(body));
-        Mockito.when(defaultCommunityService.getMembers(Mockito.anyString())).thenReturn(memberResponse);
+        Mockito.when(defaultCommunityService.getMembers(Mockito.anyString(), Mockito.any(), Mockito.any()))
+                .thenReturn(memberResponse);
 
         var request = MockMvcRequestBuilders.get("/community/get/members/test")
                 .contentType("application/json")
@@ -171,6 +216,46 @@ class CommunityControllerTest {
         assertEquals(2, postResponse1.getBody().getData().getPosts().size());
     }
 
+    @Test
+    void testStreamCommunitiesPosts_whenStreamRequested_shouldWriteSameShapeAsBufferedResponse() throws Exception {
+        PostResponseBody body = new PostResponseBody();
+        body.setPosts(new ArrayList<>());
+        PostResponse envelope = new PostResponse();
+        envelope.setBody(new BaseBody<>(body));
+        envelope.setStatus(new Status(TransactionCode.DEFAULT_100));
+        PostDto postDto = new PostDto();
+        postDto.setPostId("test");
+        postDto.setTitle("test");
+
+        Mockito.when(defaultCommunityService.getCommunitiesPostsEnvelope(token, "test"))
+                .thenReturn(envelope);
+        Mockito.doAnswer(invocation -> {
+                    Consumer<PostDto> consumer = invocation.getArgument(2);
+                    consumer.accept(postDto);
+                    consumer.accept(new PostDto());
+                    return null;
+                })
+                .when(defaultCommunityService)
+                .streamCommunitiesPosts(Mockito.eq(token), Mockito.eq("test"), Mockito.any());
+
+        var streamRequest = MockMvcRequestBuilders.get("/community/get/posts/test")
+                .param("stream", "true")
+                .header("Authorization", "Bearer " + token);
+        var started = mockMvc.perform(streamRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        PostResponse streamed = objectMapper.readValue(response.getResponse().getContentAsString(), PostResponse.class);
+        assertEquals(2, streamed.getBody().getData().getPosts().size());
+        assertEquals("test", streamed.getBody().getData().getPosts().get(0).getTitle());
+        assertEquals("100", streamed.getStatus().getCode());
+        Mockito.verify(defaultCommunityService, Mockito.never())
+                .getCommunitiesPosts(Mockito.anyString(), Mockito.anyString());
+    }
+
     @Test
     void testGetPostLikes_whenValidPostIdProvided_shouldReturnLikedUsers() throws Exception {
         MemberResponse memberResponse = new MemberResponse();
@@ -186,7 +271,8 @@ class CommunityControllerTest {
         body.setMembers(members);
         memberResponse.setBody(new BaseBody<>(body));
 
-        Mockito.when(defaultCommunityService.getPostLikes(Mockito.anyString())).thenReturn(memberResponse);
+        Mockito.when(defaultCommunityService.getPostLikes(Mockito.anyString(), Mockito.any(), Mockito.any()))
+                .thenReturn(memberResponse);
 
         var request = MockMvcRequestBuilders.get("/community/get/post/likes/test")
                 .contentType("application/json")
@@ -217,7 +303,7 @@ class CommunityControllerTest {
         body.setMembers(members);
         memberResponse.setBody(new BaseBody<>(body));
 
-        Mockito.when(defaultCommunityService.getCommentLikes(Mockito.anyString()))
+        Mockito.when(defaultCommunityService.getCommentLikes(Mockito.anyString(), Mockito.any(), Mockito.any()))
                 .thenReturn(memberResponse);
 
         var request = MockMvcRequestBuilders.get("/community/get/comment/likes/test")
@@ -255,7 +341,8 @@ class CommunityControllerTest {
         body.setPosts(posts);
         postResponse.setBody(new BaseBody<>(body));
         postResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
-        Mockito.when(defaultCommunityService.getJoinedCommunitiesPosts(Mockito.anyString()))
+        Mockito.when(defaultCommunityService.getJoinedCommunitiesPosts(
+                        Mockito.anyString(), Mockito.any(), Mockito.any()))
                 .thenReturn(postResponse);
 
         var request = MockMvcRequestBuilders.get("/community/get/joined/posts")
@@ -272,6 +359,39 @@ class CommunityControllerTest {
         assertEquals(2, postResponse1.getBody().getData().getPosts().size());
     }
 
+    @Test
+    void testGetJoinedCommunitiesPosts_whenVersionUnchanged_shouldReturnNotModified() throws Exception {
+        Mockito.when(defaultCommunityService.getJoinedCommunitiesPostsVersion(token, "abc", 10))
+                .thenReturn("v1");
+
+        var request = MockMvcRequestBuilders.get("/community/get/joined/posts")
+                .param("cursor", "abc")
+                .param("size", "10")
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", "\"v1\"");
+        mockMvc.perform(request).andExpect(status().isNotModified());
+
+        Mockito.verify(defaultCommunityService, Mockito.never())
+                .getJoinedCommunitiesPosts(Mockito.anyString(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testGetJoinedCommunitiesPosts_whenCursorMalformed_shouldReturnBadRequest() throws Exception {
+        Mockito.when(defaultCommunityService.getJoinedCommunitiesPostsVersion(token, "abc", null))
+                .thenThrow(new InvalidCursorException());
+
+        var request = MockMvcRequestBuilders.get("/community/get/joined/posts")
+                .param("cursor", "abc")
+                .header("Authorization", "Bearer " + token);
+        var response =
+                mockMvc.perform(request).andExpect(status().isBadRequest()).andReturn();
+
+        DefaultMessageResponse errorResponse =
+                objectMapper.readValue(response.getResponse().getContentAsString(), DefaultMessageResponse.class);
+        assertEquals("400", errorResponse.getStatus().getCode());
+        assertEquals(InvalidCursorException.CODE, errorResponse.getStatus().getMessage());
+    }
+
     @Test
     void testCreatePost_whenValidUserAndCommunityProvided_shouldReturnSuccessMessage() throws Exception {
         PostRequest postRequest = new PostRequest();
@@ -442,7 +562,12 @@ class CommunityControllerTest {
         commentsResponse.setBody(new BaseBody<>(body));
         commentsResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
 
-        Mockito.when(defaultCommunityService.getPostComments(Mockito.anyString()))
+        Mockito.when(defaultCommunityService.getPostComments(
+                        Mockito.anyString(),
+                        Mockito.anyString(),
+                        Mockito.eq(CommentSort.NEWEST),
+                        Mockito.any(),
+                        Mockito.any()))
                 .thenReturn(commentsResponse);
 
         var request = MockMvcRequestBuilders.get("/community/get/post/comments/test")
@@ -490,4 +615,33 @@ class CommunityControllerTest {
 
         assertEquals(200, response.getResponse().getStatus());
     }
+
+    @Test
+    void testBatchLike_whenValidItemsProvided_shouldReturnPerItemResults() throws Exception {
+        LikeItemRequest item = new LikeItemRequest();
+        item.setTarget(LikeTarget.POST);
+        item.setId("test");
+        item.setOperation(LikeOperation.LIKE);
+        BatchLikeRequest batchLikeRequest = new BatchLikeRequest();
+        batchLikeRequest.setItems(List.of(item));
+        BatchLikeResponse batchLikeResponse = new BatchLikeResponse();
+        BatchLikeResponseBody body = new BatchLikeResponseBody();
+        body.setResults(new ArrayList<>());
+        batchLikeResponse.setBody(new BaseBody<>(body));
+        batchLikeResponse.setStatus(new Status(TransactionCode.DEFAULT_100));
+
+        Mockito.when(defaultCommunityService.batchLike(Mockito.anyString(), Mockito.any(BatchLikeRequest.class)))
+                .thenReturn(batchLikeResponse);
+
+        var request = MockMvcRequestBuilders.post("/community/like/batch")
+                .contentType("application/json")
+                .header("Authorization", "Bearer " + token)
+                .content(objectMapper.writeValueAsString(batchLikeRequest));
+        var response = mockMvc.perform(request)
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(200, response.getResponse().getStatus());
+    }
 }
@@ -0,0 +1,70 @@
+package com.back2261.communityservice.application.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.interfaces.dto.PostDto;
+import com.back2261.communityservice.interfaces.dto.PostResponseBody;
+import com.back2261.communityservice.interfaces.response.PostResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.GameBuddyDevs.backendlibrary.base.BaseBody;
+import io.github.GameBuddyDevs.backendlibrary.base.Status;
+import io.github.GameBuddyDevs.backendlibrary.enums.TransactionCode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class StreamingJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testWrite_whenItemsStreamed_ProduceSameJsonAsBufferedSerialization() throws IOException {
+        List<PostDto> posts = List.of(post("first"), post("second"), post("third"));
+        PostResponse buffered = response(new ArrayList<>(posts));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StreamingJson.write(objectMapper, out, response(new ArrayList<>()), "/body/data/posts", posts::forEach);
+
+        assertEquals(
+                objectMapper.readTree(objectMapper.writeValueAsString(buffered)),
+                objectMapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    void testWrite_whenProducerWritesItems_DoNotFlushPerItem() throws IOException {
+        int[] flushes = {0};
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        StreamingJson.write(objectMapper, out, response(new ArrayList<>()), "/body/data/posts", sink -> {
+            for (int i = 0; i < 100; i++) {
+                sink.accept(post("post" + i));
+            }
+        });
+
+        assertTrue(flushes[0] <= 1);
+    }
+
+    private static PostResponse response(List<PostDto> posts) {
+        PostResponseBody body = new PostResponseBody();
+        body.setPosts(posts);
+        PostResponse response = new PostResponse();
+        response.setBody(new BaseBody<>(body));
+        response.setStatus(new Status(TransactionCode.DEFAULT_100));
+        return response;
+    }
+
+    private static PostDto post(String title) {
+        PostDto post = new PostDto();
+        post.setPostId(title);
+        post.setTitle(title);
+        return post;
+    }
+}
@@ -0,0 +1,83 @@
+package com.back2261.communityservice.config;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.back2261.communityservice.application.controller.CommunityController;
+import com.back2261.communityservice.domain.cache.VerifiedTokenCache;
+import com.back2261.communityservice.domain.service.DefaultCommunityService;
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import io.github.GameBuddyDevs.backendlibrary.enums.Role;
+import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageResponse;
+import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@WebMvcTest(CommunityController.class)
+@Import(SecurityConfig.class)
+class SecurityConfigTest {
+
+    private static final String TOKEN = "token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DefaultCommunityService defaultCommunityService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private AuthenticationProvider authenticationProvider;
+
+    @Test
+    void testActuator_whenCalledByPlayer_ReturnForbidden() throws Exception {
+        signIn(Role.USER);
+
+        var request = MockMvcRequestBuilders.post("/actuator/avatars").header("Authorization", "Bearer " + TOKEN);
+        mockMvc.perform(request).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testActuator_whenCalledByAdmin_PassSecurity() throws Exception {
+        signIn(Role.ADMIN);
+
+        var request = MockMvcRequestBuilders.get("/actuator/communitypurge").header("Authorization", "Bearer " + TOKEN);
+        // The web slice has no actuator endpoints, so an admin request gets past security and finds no handler.
+        mockMvc.perform(request).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCommunityApi_whenCalledByPlayer_ReturnOk() throws Exception {
+        signIn(Role.USER);
+        Mockito.when(defaultCommunityService.deletePost(TOKEN, "post")).thenReturn(new DefaultMessageResponse());
+
+        var request =
+                MockMvcRequestBuilders.delete("/community/delete/post/post").header("Authorization", "Bearer " + TOKEN);
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private void signIn(Role role) {
+        Gamer gamer = new Gamer();
+        gamer.setEmail("test@example.com");
+        gamer.setRole(role);
+        gamer.setIsBlocked(false);
+        Mockito.when(verifiedTokenCache.extractUsername(TOKEN)).thenReturn(gamer.getEmail());
+        Mockito.when(userDetailsService.loadUserByUsername(gamer.getEmail())).thenReturn(gamer);
+        Mockito.when(verifiedTokenCache.validateToken(TOKEN, gamer)).thenReturn(true);
+    }
+}
@@ -0,0 +1,70 @@
+package com.back2261.communityservice.domain.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.infrastructure.entity.Avatars;
+import com.back2261.communityservice.infrastructure.repository.AvatarsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AvatarCatalogTest {
+
+    @Mock
+    private AvatarsRepository avatarsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvatarCatalog avatarCatalog;
+    private UUID avatarId;
+
+    @BeforeEach
+    void setUp() {
+        avatarId = UUID.randomUUID();
+        meterRegistry = new SimpleMeterRegistry();
+        Mockito.when(avatarsRepository.findAll()).thenReturn(List.of(new Avatars(avatarId, "image", false, 0)));
+        avatarCatalog = new AvatarCatalog(avatarsRepository, meterRegistry);
+        avatarCatalog.load();
+    }
+
+    @Test
+    void testGetImage_whenAvatarLoaded_ReturnImageWithoutDatabaseLookup() {
+        assertEquals("image", avatarCatalog.getImage(avatarId));
+        assertEquals("image", avatarCatalog.getImage(avatarId));
+
+        Mockito.verify(avatarsRepository, Mockito.times(1)).findAll();
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .counter("community.avatars.catalog.requests", "result", "hit")
+                        .count());
+    }
+
+    @Test
+    void testGetImage_whenAvatarUnknown_ReturnNullAndCountMiss() {
+        assertNull(avatarCatalog.getImage(UUID.randomUUID()));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("community.avatars.catalog.requests", "result", "miss")
+                        .count());
+    }
+
+    @Test
+    void testInvalidate_whenCalled_ReloadSnapshot() {
+        UUID newAvatarId = UUID.randomUUID();
+        Mockito.when(avatarsRepository.findAll()).thenReturn(List.of(new Avatars(newAvatarId, "new", false, 0)));
+
+        avatarCatalog.invalidate();
+
+        assertEquals("new", avatarCatalog.getImage(newAvatarId));
+        assertNull(avatarCatalog.getImage(avatarId));
+        assertEquals(1, avatarCatalog.size());
+    }
+}
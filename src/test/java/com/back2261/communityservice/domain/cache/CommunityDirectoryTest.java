@@ -0,0 +1,105 @@
+package com.back2261.communityservice.domain.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.domain.mapper.CommunityMapper;
+import com.back2261.communityservice.infrastructure.projection.CommunitySummary;
+import com.back2261.communityservice.infrastructure.repository.CommunityRepository;
+import com.back2261.communityservice.interfaces.dto.CommunityDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CommunityDirectoryTest {
+
+    @Mock
+    private CommunityRepository communityRepository;
+
+    @Mock
+    private MembershipIndex membershipIndex;
+
+    private final CommunityMapper communityMapper = Mappers.getMapper(CommunityMapper.class);
+
+    private CommunityDirectory communityDirectory;
+    private CommunitySummary first;
+    private CommunitySummary second;
+
+    @BeforeEach
+    void setUp() {
+        first = summary(new UUID(1, 1), 3, 10);
+        second = summary(new UUID(2, 1), 1, 0);
+        Mockito.when(communityRepository.findActiveSummaries()).thenReturn(List.of(second, first));
+        communityDirectory = new CommunityDirectory(
+                communityRepository, membershipIndex, communityMapper, new SimpleMeterRegistry());
+        communityDirectory.load();
+    }
+
+    @Test
+    void testList_whenCalledRepeatedly_ReadDatabaseOnlyAtLoad() {
+        Mockito.when(membershipIndex.joinedIds("user")).thenReturn(Set.of(first.communityId()));
+
+        communityDirectory.list("user");
+        List<CommunityDto> communities = communityDirectory.list("user");
+
+        assertEquals(2, communities.size());
+        assertEquals(first.communityId().toString(), communities.get(0).getCommunityId());
+        assertEquals(10, communities.get(0).getPostCount());
+        assertTrue(communities.get(0).getIsJoined());
+        assertFalse(communities.get(1).getIsJoined());
+        assertEquals(Set.of(first.communityId()), communityDirectory.joinedIds("user"));
+        Mockito.verify(communityRepository, Mockito.times(1)).findActiveSummaries();
+        Mockito.verifyNoMoreInteractions(communityRepository);
+        Mockito.verify(membershipIndex, Mockito.never()).isMember(Mockito.any(), Mockito.anyString());
+    }
+
+    @Test
+    void testChanged_whenCountsMoved_ReplaceOnlyThatEntry() {
+        long before = communityDirectory.fingerprint();
+        Mockito.when(communityRepository.findActiveSummary(first.communityId()))
+                .thenReturn(Optional.of(summary(first.communityId(), 4, 10)));
+
+        communityDirectory.changed(first.communityId());
+
+        assertEquals(4, communityDirectory.list("user").get(0).getMemberCount());
+        assertNotEquals(before, communityDirectory.fingerprint());
+        Mockito.verify(communityRepository, Mockito.times(1)).findActiveSummaries();
+    }
+
+    @Test
+    void testChanged_whenCommunityDeleted_RemoveEntry() {
+        Mockito.when(communityRepository.findActiveSummary(second.communityId()))
+                .thenReturn(Optional.empty());
+
+        communityDirectory.changed(second.communityId());
+
+        assertEquals(1, communityDirectory.size());
+        assertEquals(
+                first.communityId().toString(),
+                communityDirectory.list("user").get(0).getCommunityId());
+    }
+
+    @Test
+    void testFingerprint_whenSameRowsLoadedElsewhere_ReturnSameValue() {
+        CommunityDirectory other = new CommunityDirectory(
+                communityRepository, membershipIndex, communityMapper, new SimpleMeterRegistry());
+        other.load();
+
+        assertEquals(communityDirectory.fingerprint(), other.fingerprint());
+    }
+
+    private static CommunitySummary summary(UUID communityId, int memberCount, int postCount) {
+        return new CommunitySummary(
+                communityId, "name", "description", "avatar", "wallpaper", new Date(0), memberCount, postCount);
+    }
+}
@@ -0,0 +1,113 @@
+package com.back2261.communityservice.domain.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.infrastructure.repository.CommunityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipIndexTest {
+
+    @Mock
+    private CommunityRepository communityRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MembershipIndex membershipIndex;
+    private UUID communityId;
+
+    @BeforeEach
+    void setUp() {
+        communityId = UUID.randomUUID();
+        meterRegistry = new SimpleMeterRegistry();
+        membershipIndex = new MembershipIndex(communityRepository, meterRegistry, 1000, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testIsMember_whenCheckedRepeatedly_LoadCommunityOnce() {
+        Mockito.when(communityRepository.findMemberIds(communityId)).thenReturn(Set.of("member"));
+
+        assertTrue(membershipIndex.isMember(communityId, "member"));
+        assertFalse(membershipIndex.isMember(communityId, "stranger"));
+
+        Mockito.verify(communityRepository, Mockito.times(1)).findMemberIds(communityId);
+    }
+
+    @Test
+    void testAddedAndRemoved_whenCommunityResident_UpdateWithoutReloading() {
+        Mockito.when(communityRepository.findMemberIds(communityId)).thenReturn(Set.of("member"));
+        membershipIndex.isMember(communityId, "member");
+
+        membershipIndex.added(communityId, "newcomer");
+        membershipIndex.removed(communityId, "member");
+
+        assertTrue(membershipIndex.isMember(communityId, "newcomer"));
+        assertFalse(membershipIndex.isMember(communityId, "member"));
+        Mockito.verify(communityRepository, Mockito.times(1)).findMemberIds(communityId);
+    }
+
+    @Test
+    void testJoinedIds_whenUserJoinsAndLeaves_UpdateWithoutReloading() {
+        UUID otherId = UUID.randomUUID();
+        Mockito.when(communityRepository.findJoinedCommunityIds("member")).thenReturn(Set.of(communityId));
+
+        assertEquals(Set.of(communityId), membershipIndex.joinedIds("member"));
+        membershipIndex.added(otherId, "member");
+        membershipIndex.removed(communityId, "member");
+
+        assertEquals(Set.of(otherId), membershipIndex.joinedIds("member"));
+        Mockito.verify(communityRepository, Mockito.times(1)).findJoinedCommunityIds("member");
+    }
+
+    @Test
+    void testVerify_whenIndexDrifted_RepairAndCount() {
+        Mockito.when(communityRepository.findMemberIds(communityId))
+                .thenReturn(Set.of("member"))
+                .thenReturn(Set.of("member", "joinedElsewhere"));
+        membershipIndex.isMember(communityId, "member");
+
+        assertEquals(1, membershipIndex.verify());
+
+        assertTrue(membershipIndex.isMember(communityId, "joinedElsewhere"));
+        assertEquals(
+                1.0, meterRegistry.counter("community.membership.index.repairs").count());
+    }
+
+    @Test
+    void testIsMember_whenJoinedOnAnotherInstance_FallBackToDatabase() {
+        Mockito.when(communityRepository.findMemberIds(communityId)).thenReturn(Set.of("member"));
+        Mockito.when(communityRepository.existsMember(communityId, "joinedElsewhere"))
+                .thenReturn(true);
+
+        assertTrue(membershipIndex.isMember(communityId, "joinedElsewhere"));
+        assertTrue(membershipIndex.isMember(communityId, "joinedElsewhere"));
+
+        Mockito.verify(communityRepository, Mockito.times(1)).existsMember(communityId, "joinedElsewhere");
+    }
+
+    @Test
+    void testVerify_whenJoinedDuringReload_KeepJoin() {
+        Mockito.when(communityRepository.findMemberIds(communityId))
+                .thenReturn(Set.of("member"))
+                .thenAnswer(invocation -> {
+                    membershipIndex.added(communityId, "newcomer");
+                    return Set.of("member");
+                });
+        membershipIndex.isMember(communityId, "member");
+
+        assertEquals(0, membershipIndex.verify());
+
+        assertTrue(membershipIndex.isMember(communityId, "newcomer"));
+        Mockito.verify(communityRepository, Mockito.never()).existsMember(communityId, "newcomer");
+        assertEquals(
+                0.0, meterRegistry.counter("community.membership.index.repairs").count());
+    }
+}
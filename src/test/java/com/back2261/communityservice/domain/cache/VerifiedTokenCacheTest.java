@@ -0,0 +1,143 @@
+package com.back2261.communityservice.domain.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.infrastructure.entity.Gamer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        token = token(Instant.now().plusSeconds(3600));
+    }
+
+    @Test
+    void testExtractUsername_whenTokenRepeated_VerifyOnce() {
+        VerifiedTokenCache cache = cache(true);
+        Mockito.when(jwtService.extractUsername(token)).thenReturn("test");
+
+        assertEquals("test", cache.extractUsername(token));
+        assertEquals("test", cache.extractUsername(token));
+        assertTrue(cache.validateToken(token, gamer("test")));
+        assertFalse(cache.validateToken(token, gamer("other")));
+
+        Mockito.verify(jwtService, Mockito.times(1)).extractUsername(token);
+        Mockito.verify(jwtService, Mockito.never()).validateToken(Mockito.anyString(), Mockito.any());
+        assertEquals(
+                3.0,
+                meterRegistry
+                        .get("cache.gets")
+                        .tag("cache", "community.tokens")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    void testExtractUsername_whenConcurrentRequestsCarrySameToken_VerifyOnce() throws Exception {
+        VerifiedTokenCache cache = cache(true);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(jwtService.extractUsername(token)).thenAnswer(invocation -> {
+            release.await();
+            return "test";
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.extractUsername(token)));
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("test", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Mockito.verify(jwtService, Mockito.times(1)).extractUsername(token);
+    }
+
+    @Test
+    void testExtractUsername_whenVerificationFails_DoNotCache() {
+        VerifiedTokenCache cache = cache(true);
+        Mockito.when(jwtService.extractUsername(token))
+                .thenThrow(new IllegalArgumentException("bad token"))
+                .thenReturn("test");
+
+        assertThrows(IllegalArgumentException.class, () -> cache.extractUsername(token));
+        assertEquals("test", cache.extractUsername(token));
+    }
+
+    @Test
+    void testExtractUsername_whenTokenHasNoExpiration_VerifyEveryTime() {
+        VerifiedTokenCache cache = cache(true);
+        String noExp = "e30." + encode("{\"sub\":\"test\"}") + ".sig";
+        Mockito.when(jwtService.extractUsername(noExp)).thenReturn("test");
+
+        cache.extractUsername(noExp);
+        cache.extractUsername(noExp);
+
+        Mockito.verify(jwtService, Mockito.times(2)).extractUsername(noExp);
+    }
+
+    @Test
+    void testValidateToken_whenCacheDisabled_DelegateToJwtService() {
+        VerifiedTokenCache cache = cache(false);
+        Gamer gamer = gamer("test");
+        Mockito.when(jwtService.extractUsername(token)).thenReturn("test");
+        Mockito.when(jwtService.validateToken(token, gamer)).thenReturn(true);
+
+        cache.extractUsername(token);
+        cache.extractUsername(token);
+        assertTrue(cache.validateToken(token, gamer));
+
+        Mockito.verify(jwtService, Mockito.times(2)).extractUsername(token);
+        Mockito.verify(jwtService).validateToken(token, gamer);
+    }
+
+    private VerifiedTokenCache cache(boolean enabled) {
+        return new VerifiedTokenCache(jwtService, new ObjectMapper(), meterRegistry, enabled, 100);
+    }
+
+    private static String token(Instant expiresAt) {
+        return "e30." + encode("{\"sub\":\"test\",\"exp\":" + expiresAt.getEpochSecond() + "}") + ".sig";
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Gamer gamer(String email) {
+        Gamer gamer = new Gamer();
+        gamer.setEmail(email);
+        return gamer;
+    }
+}
@@ -0,0 +1,121 @@
+package com.back2261.communityservice.domain.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.domain.cache.GamerPrincipalCache;
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.repository.CommunityCountersRepository;
+import com.back2261.communityservice.infrastructure.repository.CommunityRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CommunityPurgeJobTest {
+
+    @Mock
+    private CommunityRepository communityRepository;
+
+    @Mock
+    private CommunityCountersRepository communityCountersRepository;
+
+    @Mock
+    private GamerPrincipalCache gamerPrincipalCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UUID communityId;
+    private Community community;
+
+    @BeforeEach
+    void setUp() {
+        communityId = UUID.randomUUID();
+        community = new Community();
+        community.setCommunityId(communityId);
+        Mockito.when(communityRepository.findDeletedIds()).thenReturn(List.of(communityId));
+        Mockito.when(communityRepository.findById(communityId)).thenReturn(Optional.of(community));
+    }
+
+    @Test
+    void testPurge_whenRowsRemain_DeleteDependentsInChunksThenCommunity() {
+        Mockito.when(communityRepository.purgeComments(communityId, 2)).thenReturn(2, 1, 0);
+        Mockito.when(communityRepository.purgePosts(communityId, 2)).thenReturn(1, 0);
+
+        new CommunityPurgeJob(
+                        communityRepository,
+                        communityCountersRepository,
+                        gamerPrincipalCache,
+                        transactionManager,
+                        2,
+                        100)
+                .purge();
+
+        InOrder inOrder = Mockito.inOrder(communityRepository);
+        inOrder.verify(communityRepository).purgeCommentLikes(communityId, 2);
+        inOrder.verify(communityRepository, Mockito.times(3)).purgeComments(communityId, 2);
+        inOrder.verify(communityRepository).purgePostLikes(communityId, 2);
+        inOrder.verify(communityRepository).purgeTimeline(communityId, 2);
+        inOrder.verify(communityRepository, Mockito.times(2)).purgePosts(communityId, 2);
+        inOrder.verify(communityRepository).purgeMembers(communityId, 2);
+        inOrder.verify(communityRepository).delete(community);
+        Mockito.verify(communityCountersRepository).deleteCounters(communityId);
+    }
+
+    @Test
+    void testPurge_whenBudgetRunsOut_StopAndResumeOnNextRun() {
+        Mockito.when(communityRepository.purgeComments(communityId, 2)).thenReturn(2, 2, 0);
+        CommunityPurgeJob job = new CommunityPurgeJob(
+                communityRepository, communityCountersRepository, gamerPrincipalCache, transactionManager, 2, 2);
+
+        job.purge();
+
+        Mockito.verify(communityRepository, Mockito.never()).delete(Mockito.any(Community.class));
+        assertEquals("comments", job.progress().step());
+        assertEquals(2, job.progress().deletedRows());
+
+        job.purge();
+        job.purge();
+        job.purge();
+
+        Mockito.verify(communityRepository).delete(community);
+        assertNull(job.progress());
+    }
+
+    @Test
+    void testPurge_whenStepFails_MoveOnAndRestartFromFirstStep() {
+        UUID nextId = UUID.randomUUID();
+        Community next = new Community();
+        next.setCommunityId(nextId);
+        Mockito.when(communityRepository.findDeletedIds()).thenReturn(List.of(communityId, nextId));
+        Mockito.when(communityRepository.findById(nextId)).thenReturn(Optional.of(next));
+        Mockito.when(communityRepository.purgePosts(communityId, 2))
+                .thenThrow(new DataIntegrityViolationException("late like"))
+                .thenReturn(0);
+        CommunityPurgeJob job = new CommunityPurgeJob(
+                communityRepository, communityCountersRepository, gamerPrincipalCache, transactionManager, 2, 100);
+
+        job.purge();
+
+        Mockito.verify(communityRepository, Mockito.never()).delete(community);
+        Mockito.verify(communityRepository).delete(next);
+
+        job.purge();
+
+        Mockito.verify(communityRepository, Mockito.times(2)).purgeCommentLikes(communityId, 2);
+        Mockito.verify(communityRepository, Mockito.times(2)).purgePostLikes(communityId, 2);
+        Mockito.verify(communityRepository).delete(community);
+    }
+}
@@ -0,0 +1,70 @@
+package com.back2261.communityservice.domain.job;
+
+import com.back2261.communityservice.domain.cache.CommunityDirectory;
+import com.back2261.communityservice.infrastructure.repository.CommentRepository;
+import com.back2261.communityservice.infrastructure.repository.CommunityCountersRepository;
+import com.back2261.communityservice.infrastructure.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CounterReconciliationJobTest {
+
+    @Mock
+    private CommunityCountersRepository communityCountersRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CommunityDirectory communityDirectory;
+
+    @Test
+    void testReconcile_whenCommunityCountersRepaired_RefreshDirectory() {
+        Mockito.when(communityCountersRepository.reconcileCounters()).thenReturn(3);
+        Mockito.when(postRepository.reconcileCommentCounts()).thenReturn(0);
+
+        job(true).reconcile();
+
+        Mockito.verify(communityDirectory).refresh();
+    }
+
+    @Test
+    void testReconcile_whenOnlyCommentCountsRepaired_KeepDirectory() {
+        Mockito.when(communityCountersRepository.reconcileCounters()).thenReturn(0);
+        Mockito.when(postRepository.reconcileCommentCounts()).thenReturn(2);
+
+        job(true).reconcile();
+
+        Mockito.verify(postRepository).reconcileCommentCounts();
+        Mockito.verifyNoInteractions(communityDirectory);
+    }
+
+    @Test
+    void testBackfill_whenEnabled_ReconcileOnce() {
+        job(true).backfill();
+
+        Mockito.verify(communityCountersRepository).reconcileCounters();
+        Mockito.verify(postRepository).reconcileCommentCounts();
+        Mockito.verify(commentRepository).reconcilePostIds();
+    }
+
+    @Test
+    void testBackfill_whenDisabled_LeaveCountersAlone() {
+        job(false).backfill();
+
+        Mockito.verifyNoInteractions(
+                communityCountersRepository, postRepository, commentRepository, communityDirectory);
+    }
+
+    private CounterReconciliationJob job(boolean reconcileOnStartup) {
+        return new CounterReconciliationJob(
+                communityCountersRepository, postRepository, commentRepository, communityDirectory, reconcileOnStartup);
+    }
+}
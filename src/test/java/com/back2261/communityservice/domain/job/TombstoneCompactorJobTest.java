@@ -0,0 +1,68 @@
+package com.back2261.communityservice.domain.job;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.infrastructure.repository.CommentRepository;
+import com.back2261.communityservice.infrastructure.repository.PostRepository;
+import java.time.Duration;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TombstoneCompactorJobTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Test
+    void testCompact_whenChunksAreFull_KeepGoingUntilShortChunk() {
+        TombstoneCompactorJob job = job(10);
+        Mockito.when(commentRepository.compact(Mockito.any(Date.class), Mockito.eq(2)))
+                .thenReturn(2, 1);
+        Mockito.when(postRepository.compact(Mockito.any(Date.class), Mockito.eq(2)))
+                .thenReturn(0);
+
+        job.compact();
+
+        InOrder inOrder = Mockito.inOrder(commentRepository, postRepository);
+        inOrder.verify(commentRepository, Mockito.times(2)).compact(Mockito.any(Date.class), Mockito.eq(2));
+        inOrder.verify(postRepository).compact(Mockito.any(Date.class), Mockito.eq(2));
+    }
+
+    @Test
+    void testCompact_whenBudgetSpent_StopBeforePosts() {
+        TombstoneCompactorJob job = job(3);
+        Mockito.when(commentRepository.compact(Mockito.any(Date.class), Mockito.eq(2)))
+                .thenReturn(2);
+
+        job.compact();
+
+        Mockito.verify(commentRepository, Mockito.times(3)).compact(Mockito.any(Date.class), Mockito.eq(2));
+        Mockito.verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void testCompact_whenCalled_KeepRowsInsideRetention() {
+        TombstoneCompactorJob job = job(10);
+        long before = System.currentTimeMillis();
+
+        job.compact();
+
+        ArgumentCaptor<Date> cutoff = ArgumentCaptor.forClass(Date.class);
+        Mockito.verify(commentRepository).compact(cutoff.capture(), Mockito.eq(2));
+        assertTrue(cutoff.getValue().getTime() <= before - Duration.ofHours(24).toMillis() + 1000);
+    }
+
+    private TombstoneCompactorJob job(int maxChunksPerRun) {
+        return new TombstoneCompactorJob(commentRepository, postRepository, Duration.ofHours(24), 2, maxChunksPerRun);
+    }
+}
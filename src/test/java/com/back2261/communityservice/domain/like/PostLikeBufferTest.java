@@ -0,0 +1,220 @@
+package com.back2261.communityservice.domain.like;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class PostLikeBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private PostLikeBuffer postLikeBuffer;
+    private UUID postId;
+
+    @BeforeEach
+    void setUp() {
+        postLikeBuffer =
+                new PostLikeBuffer(jdbcTemplate, transactionManager, taskScheduler, true, 1000, 100, 4, "community");
+        postId = UUID.randomUUID();
+    }
+
+    @Test
+    void testLike_whenLikedTwice_RejectSecondLike() {
+        assertEquals(PostLikeBuffer.Outcome.CHANGED, postLikeBuffer.like(postId, "user", () -> false));
+        assertEquals(PostLikeBuffer.Outcome.UNCHANGED, postLikeBuffer.like(postId, "user", () -> false));
+
+        assertEquals(1, postLikeBuffer.pendingDelta(postId));
+        assertEquals(Boolean.TRUE, postLikeBuffer.pendingState(postId, "user"));
+    }
+
+    @Test
+    void testLike_whenAlreadyLikedInDatabase_ReturnFalse() {
+        assertEquals(PostLikeBuffer.Outcome.UNCHANGED, postLikeBuffer.like(postId, "user", () -> true));
+
+        assertEquals(0, postLikeBuffer.pendingDelta(postId));
+        assertNull(postLikeBuffer.pendingState(postId, "user"));
+    }
+
+    @Test
+    void testUnlike_whenLikeIsBuffered_CancelBothEvents() {
+        postLikeBuffer.like(postId, "user", () -> false);
+        postLikeBuffer.unlike(postId, "user", () -> false);
+        postLikeBuffer.flush();
+
+        assertEquals(0, postLikeBuffer.pendingDelta(postId));
+        Mockito.verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_whenEventsPending_WriteOneBatchPerKind() {
+        postLikeBuffer.like(postId, "first", () -> false);
+        postLikeBuffer.like(postId, "second", () -> false);
+        postLikeBuffer.unlike(postId, "third", () -> true);
+        assertEquals(1, postLikeBuffer.pendingDelta(postId));
+
+        postLikeBuffer.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(jdbcTemplate, Mockito.times(2)).batchUpdate(sql.capture(), rows.capture());
+        assertTrue(sql.getAllValues().get(0).contains("insert into community.post_likes_join"));
+        assertEquals(2, rows.getAllValues().get(0).size());
+        assertTrue(sql.getAllValues().get(1).contains("delete from community.post_likes_join"));
+        assertEquals(1, rows.getAllValues().get(1).size());
+        assertEquals(0, postLikeBuffer.pendingDelta(postId));
+    }
+
+    @Test
+    void testDrain_whenShuttingDown_FlushPendingEvents() {
+        postLikeBuffer.like(postId, "user", () -> false);
+
+        postLikeBuffer.drain();
+
+        Mockito.verify(jdbcTemplate).batchUpdate(Mockito.anyString(), Mockito.<List<Object[]>>any());
+        assertNull(postLikeBuffer.pendingState(postId, "user"));
+    }
+
+    @Test
+    void testUnlike_whenLikeIsBeingFlushed_WriteUnlikeAfterIt() {
+        postLikeBuffer.like(postId, "user", () -> false);
+        Mockito.when(jdbcTemplate.batchUpdate(Mockito.contains("insert into"), Mockito.<List<Object[]>>any()))
+                .thenAnswer(invocation -> {
+                    // The flushed like is not committed yet, so the database still reports the post as not liked.
+                    assertEquals(Boolean.TRUE, postLikeBuffer.pendingState(postId, "user"));
+                    assertEquals(PostLikeBuffer.Outcome.UNCHANGED, postLikeBuffer.like(postId, "user", () -> false));
+                    postLikeBuffer.unlike(postId, "user", () -> false);
+                    assertEquals(0, postLikeBuffer.pendingDelta(postId));
+                    return new int[] {1};
+                });
+
+        postLikeBuffer.flush();
+        assertEquals(Boolean.FALSE, postLikeBuffer.pendingState(postId, "user"));
+        assertEquals(-1, postLikeBuffer.pendingDelta(postId));
+
+        postLikeBuffer.flush();
+        Mockito.verify(jdbcTemplate).batchUpdate(Mockito.contains("delete from"), Mockito.<List<Object[]>>any());
+        assertNull(postLikeBuffer.pendingState(postId, "user"));
+    }
+
+    @Test
+    void testPendingVersion_whenLikeMovesBetweenPosts_ReturnDifferentVersion() {
+        UUID otherPostId = UUID.randomUUID();
+        String empty = postLikeBuffer.pendingVersion("user");
+
+        postLikeBuffer.like(postId, "other", () -> false);
+        String liked = postLikeBuffer.pendingVersion("user");
+        postLikeBuffer.unlike(postId, "other", () -> false);
+        postLikeBuffer.like(otherPostId, "other", () -> false);
+
+        assertNotEquals(empty, liked);
+        assertNotEquals(liked, postLikeBuffer.pendingVersion("user"));
+        assertNotEquals(postLikeBuffer.pendingVersion("user"), postLikeBuffer.pendingVersion("other"));
+    }
+
+    @Test
+    void testFlush_whenBatchFails_KeepEventsPending() {
+        postLikeBuffer.like(postId, "user", () -> false);
+        Mockito.when(jdbcTemplate.batchUpdate(Mockito.anyString(), Mockito.<List<Object[]>>any()))
+                .thenThrow(new IllegalStateException("test"));
+
+        postLikeBuffer.flush();
+
+        assertEquals(Boolean.TRUE, postLikeBuffer.pendingState(postId, "user"));
+        assertEquals(1, postLikeBuffer.pendingDelta(postId));
+    }
+
+    @Test
+    void testLike_whenThresholdReached_SignalFlusherInsteadOfWriting() {
+        postLikeBuffer =
+                new PostLikeBuffer(jdbcTemplate, transactionManager, taskScheduler, true, 2, 100, 4, "community");
+
+        postLikeBuffer.like(postId, "first", () -> false);
+        postLikeBuffer.like(postId, "second", () -> false);
+        postLikeBuffer.like(postId, "third", () -> false);
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(taskScheduler).schedule(flush.capture(), Mockito.any(Instant.class));
+        Mockito.verifyNoInteractions(jdbcTemplate, transactionManager);
+
+        flush.getValue().run();
+        Mockito.verify(transactionManager)
+                .getTransaction(Mockito.argThat(definition ->
+                        definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        assertEquals(0, postLikeBuffer.pendingDelta(postId));
+    }
+
+    @Test
+    void testLike_whenDatabaseIsRead_DoNotHoldStripeLock() throws Exception {
+        postLikeBuffer.like(postId, "user", () -> {
+            // Another request on the same stripe must not block behind the database read.
+            Thread other = new Thread(() -> postLikeBuffer.like(postId, "other", () -> false));
+            other.start();
+            try {
+                other.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertFalse(other.isAlive());
+            return false;
+        });
+
+        assertEquals(2, postLikeBuffer.pendingDelta(postId));
+    }
+
+    @Test
+    void testLike_whenFlushLandsDuringDatabaseRead_ReadDatabaseAgain() {
+        postLikeBuffer.like(postId, "user", () -> false);
+        int[] reads = {0};
+
+        PostLikeBuffer.Outcome outcome = postLikeBuffer.unlike(postId, "other", () -> {
+            if (reads[0]++ == 0) {
+                // The first read is stale: a flush lands before the stripe lock is taken again.
+                postLikeBuffer.flush();
+                return false;
+            }
+            return true;
+        });
+
+        assertEquals(2, reads[0]);
+        assertEquals(PostLikeBuffer.Outcome.CHANGED, outcome);
+        assertEquals(Boolean.FALSE, postLikeBuffer.pendingState(postId, "other"));
+    }
+
+    @Test
+    void testLike_whenMaxPendingReached_ReturnFullButAllowCancelling() {
+        postLikeBuffer =
+                new PostLikeBuffer(jdbcTemplate, transactionManager, taskScheduler, true, 1000, 2, 4, "community");
+        Mockito.when(jdbcTemplate.batchUpdate(Mockito.anyString(), Mockito.<List<Object[]>>any()))
+                .thenThrow(new IllegalStateException("test"));
+        postLikeBuffer.like(postId, "first", () -> false);
+        postLikeBuffer.like(postId, "second", () -> false);
+        postLikeBuffer.flush();
+
+        assertEquals(PostLikeBuffer.Outcome.FULL, postLikeBuffer.like(postId, "third", () -> false));
+        assertNull(postLikeBuffer.pendingState(postId, "third"));
+        assertEquals(PostLikeBuffer.Outcome.CHANGED, postLikeBuffer.unlike(postId, "first", () -> false));
+        assertEquals(PostLikeBuffer.Outcome.CHANGED, postLikeBuffer.like(postId, "third", () -> false));
+    }
+}
@@ -0,0 +1,115 @@
+package com.back2261.communityservice.domain.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testTryAcquire_whenLimitReached_RejectAfterMaxWait() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ZERO);
+
+        assertTrue(limiter.tryAcquire() >= 0);
+        assertTrue(limiter.tryAcquire() >= 0);
+        assertEquals(-1, limiter.tryAcquire());
+
+        assertEquals(2, limiter.inFlight());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("community.bulkhead.rejected")
+                        .tag("group", "read")
+                        .counter()
+                        .count());
+        assertEquals(
+                3,
+                meterRegistry
+                        .get("community.bulkhead.queue.wait")
+                        .tag("group", "read")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void testTryAcquire_whenSlotFreedWhileWaiting_Acquire() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofSeconds(5));
+        long first = limiter.tryAcquire();
+
+        CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        limiter.release(first);
+
+        assertTrue(waiter.get(5, TimeUnit.SECONDS) >= 0);
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    void testRelease_whenLatencyRises_ShrinkLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, Duration.ZERO);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+            limiter.tryAcquire();
+        }
+        int steady = limiter.limit();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100));
+            limiter.tryAcquire();
+        }
+
+        assertTrue(limiter.limit() < steady);
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    @Test
+    void testRelease_whenLatencyStableAndBusy_GrowLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ZERO);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            limiter.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+            limiter.tryAcquire();
+        }
+
+        assertTrue(limiter.limit() > 10);
+    }
+
+    @Test
+    void testRelease_whenMostlyIdle_KeepLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ZERO);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.release(limiter.tryAcquire());
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter("read", initialLimit, 4, 100, maxWait, meterRegistry);
+    }
+}
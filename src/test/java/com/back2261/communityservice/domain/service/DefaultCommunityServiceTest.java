@@ -2,29 +2,59 @@ package com.back2261.communityservice.domain.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.back2261.communityservice.domain.cache.AvatarCatalog;
+import com.back2261.communityservice.domain.cache.CommunityDirectory;
+import com.back2261.communityservice.domain.cache.GamerPrincipalCache;
+import com.back2261.communityservice.domain.cache.MembershipIndex;
+import com.back2261.communityservice.domain.cache.VerifiedTokenCache;
+import com.back2261.communityservice.domain.like.PostLikeBuffer;
+import com.back2261.communityservice.domain.mapper.CommentMapper;
+import com.back2261.communityservice.domain.mapper.MemberMapper;
+import com.back2261.communityservice.domain.mapper.PostMapper;
+import com.back2261.communityservice.domain.pagination.InvalidCursorException;
+import com.back2261.communityservice.domain.pagination.PageCursor;
+import com.back2261.communityservice.domain.timeline.HomeTimeline;
 import com.back2261.communityservice.infrastructure.entity.*;
+import com.back2261.communityservice.infrastructure.projection.CommentSummary;
+import com.back2261.communityservice.infrastructure.projection.MemberSummary;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
 import com.back2261.communityservice.infrastructure.repository.*;
+import com.back2261.communityservice.interfaces.dto.CommentDto;
+import com.back2261.communityservice.interfaces.dto.CommunityDto;
+import com.back2261.communityservice.interfaces.dto.LikeResultDto;
+import com.back2261.communityservice.interfaces.dto.PostDto;
+import com.back2261.communityservice.interfaces.enums.CommentSort;
+import com.back2261.communityservice.interfaces.enums.LikeOperation;
+import com.back2261.communityservice.interfaces.enums.LikeTarget;
+import com.back2261.communityservice.interfaces.request.BatchLikeRequest;
 import com.back2261.communityservice.interfaces.request.CommunityRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommentRequest;
 import com.back2261.communityservice.interfaces.request.CreateCommunityRequest;
+import com.back2261.communityservice.interfaces.request.LikeItemRequest;
 import com.back2261.communityservice.interfaces.request.PostRequest;
+import com.back2261.communityservice.interfaces.response.BatchLikeResponse;
 import com.back2261.communityservice.interfaces.response.CommentsResponse;
 import com.back2261.communityservice.interfaces.response.CommunityResponse;
 import com.back2261.communityservice.interfaces.response.MemberResponse;
 import com.back2261.communityservice.interfaces.response.PostResponse;
 import io.github.GameBuddyDevs.backendlibrary.exception.BusinessException;
 import io.github.GameBuddyDevs.backendlibrary.interfaces.DefaultMessageResponse;
-import io.github.GameBuddyDevs.backendlibrary.service.JwtService;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -36,6 +66,9 @@ class DefaultCommunityServiceTest {
     @Mock
     private CommunityRepository communityRepository;
 
+    @Mock
+    private CommunityCountersRepository communityCountersRepository;
+
     @Mock
     private GamerRepository gamerRepository;
 
@@ -46,10 +79,34 @@ class DefaultCommunityServiceTest {
     private CommentRepository commentRepository;
 
     @Mock
-    private AvatarsRepository avatarsRepository;
+    private AvatarCatalog avatarCatalog;
+
+    @Mock
+    private HomeTimeline homeTimeline;
 
     @Mock
-    private JwtService jwtService;
+    private PostLikeBuffer postLikeBuffer;
+
+    @Mock
+    private GamerPrincipalCache gamerPrincipalCache;
+
+    @Mock
+    private MembershipIndex membershipIndex;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private CommunityDirectory communityDirectory;
+
+    @Spy
+    private PostMapper postMapper = Mappers.getMapper(PostMapper.class);
+
+    @Spy
+    private CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+
+    @Spy
+    private MemberMapper memberMapper = Mappers.getMapper(MemberMapper.class);
 
     private String token;
     private String id;
@@ -62,155 +119,275 @@ class DefaultCommunityServiceTest {
 
     @Test
     void testGetCommunities_whenCalled_ReturnListOfCommunities() {
-        List<Community> communities = new ArrayList<>();
-        communities.add(getCommunity());
-        communities.add(getCommunity());
+        Gamer gamer = getGamer();
+        List<CommunityDto> communities = List.of(new CommunityDto(), new CommunityDto());
 
-        Mockito.when(jwtService.extractUsername(Mockito.any(String.class))).thenReturn("test");
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(getGamer()));
-        Mockito.when(communityRepository.findAll()).thenReturn(communities);
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityDirectory.list(gamer.getUserId())).thenReturn(communities);
 
         CommunityResponse result = defaultCommunityService.getCommunities(token);
         assertEquals(2, result.getBody().getData().getCommunities().size());
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verifyNoInteractions(communityRepository);
+    }
+
+    @Test
+    void testGetCommunitiesVersion_whenJoinedSetChanges_ReturnDifferentTag() {
+        Gamer gamer = getGamer();
+        UUID communityId = UUID.randomUUID();
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityDirectory.fingerprint()).thenReturn(42L);
+        Mockito.when(communityDirectory.joinedIds(gamer.getUserId()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(communityId));
+
+        String first = defaultCommunityService.getCommunitiesVersion(token);
+        assertEquals(first, defaultCommunityService.getCommunitiesVersion(token));
+        assertNotEquals(first, defaultCommunityService.getCommunitiesVersion(token));
+        Mockito.verifyNoInteractions(communityRepository);
     }
 
     @Test
     void testGetMembers_whenInvalidCommunityIdProvided_ReturnErrorCode131() {
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(communityRepository.findActiveOwnerId(Mockito.any(UUID.class)))
+                .thenReturn(Optional.empty());
 
         BusinessException exception =
-                assertThrows(BusinessException.class, () -> defaultCommunityService.getMembers(id));
+                assertThrows(BusinessException.class, () -> defaultCommunityService.getMembers(id, null, null));
         assertEquals(131, exception.getTransactionCode().getId());
     }
 
     @Test
     void testGetMembers_whenCalledValid_ReturnListOfUsers() {
-        Community community = getCommunity();
-        Set<Gamer> members = new HashSet<>();
-        members.add(getGamer());
-        members.add(getGamer());
-        community.setMembers(members);
+        MemberSummary owner = getMemberSummary();
+        List<MemberSummary> members = List.of(owner, getMemberSummary());
 
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(communityRepository.findActiveOwnerId(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(owner.userId()));
+        Mockito.when(gamerRepository.findMembers(Mockito.any(UUID.class), Mockito.eq(""), Mockito.any(Pageable.class)))
+                .thenReturn(members);
+        Mockito.when(avatarCatalog.getImage(owner.avatar())).thenReturn("avatar.png");
 
-        MemberResponse result = defaultCommunityService.getMembers(id);
+        MemberResponse result = defaultCommunityService.getMembers(id, null, null);
         assertEquals(2, result.getBody().getData().getMembers().size());
+        assertTrue(result.getBody().getData().getMembers().get(0).getIsOwner());
+        assertEquals(
+                "avatar.png", result.getBody().getData().getMembers().get(0).getAvatar());
+        assertEquals(
+                owner.gamerUsername(),
+                result.getBody().getData().getMembers().get(0).getGamerUsername());
+        assertFalse(result.getBody().getData().getMembers().get(1).getIsOwner());
+        assertNull(result.getBody().getData().getNextCursor());
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(communityRepository, Mockito.never()).findActiveById(Mockito.any());
     }
 
     @Test
-    void testGetCommunitiesPosts_whenInvalidCommunityIdProvided_ReturnErrorCode131() {
-        Mockito.when(jwtService.extractUsername(Mockito.any(String.class))).thenReturn("test");
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(getGamer()));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+    void testGetMembers_whenMoreMembersThanPageSize_ReturnCursorOfLastMember() {
+        List<MemberSummary> members = List.of(getMemberSummary(), getMemberSummary(), getMemberSummary());
+        String cursor = PageCursor.encode("previous");
 
-        BusinessException exception =
-                assertThrows(BusinessException.class, () -> defaultCommunityService.getCommunitiesPosts(token, id));
-        assertEquals(131, exception.getTransactionCode().getId());
+        Mockito.when(communityRepository.findActiveOwnerId(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of("owner"));
+        Mockito.when(gamerRepository.findMembers(
+                        Mockito.any(UUID.class), Mockito.eq("previous"), Mockito.any(Pageable.class)))
+                .thenReturn(members);
+
+        MemberResponse result = defaultCommunityService.getMembers(id, cursor, 2);
+        assertEquals(2, result.getBody().getData().getMembers().size());
+        assertEquals(
+                members.get(1).userId(),
+                PageCursor.decode(result.getBody().getData().getNextCursor(), 1)[0]);
     }
 
     @Test
-    void testGetCommunitiesPosts_whenOwnerOfThePostIsEmpty_ReturnErrorCode103() {
-        Community community = getCommunity();
-        community.getPosts().add(getPost());
-        community.getPosts().add(getPost());
-        Gamer gamer = getGamer();
-        community.getMembers().add(gamer);
+    void testGetMembers_whenCursorMalformed_ThrowInvalidCursor() {
+        Mockito.when(communityRepository.findActiveOwnerId(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of("owner"));
+
+        assertThrows(InvalidCursorException.class, () -> defaultCommunityService.getMembers(id, "%%%", null));
+        Mockito.verifyNoInteractions(gamerRepository);
+    }
 
-        Mockito.when(jwtService.extractUsername(Mockito.any(String.class))).thenReturn("test");
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
-        Mockito.when(gamerRepository.findById(Mockito.any(String.class))).thenReturn(Optional.empty());
+    @Test
+    void testGetCommunitiesPosts_whenInvalidCommunityIdProvided_ReturnErrorCode131() {
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(getGamer()));
+        Mockito.when(communityRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(false);
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.getCommunitiesPosts(token, id));
-        assertEquals(103, exception.getTransactionCode().getId());
+        assertEquals(131, exception.getTransactionCode().getId());
     }
 
     @Test
     void testGetCommunitiesPosts_whenUserNotMember_ReturnEmptyList() {
-        Community community = getCommunity();
-        community.getPosts().add(getPost());
-        community.getPosts().add(getPost());
         Gamer gamer = getGamer();
-        Gamer owner = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.any(String.class))).thenReturn("test");
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
-        Mockito.when(gamerRepository.findById(Mockito.any(String.class))).thenReturn(Optional.of(owner));
-        Mockito.when(avatarsRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(new Avatars()));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(true);
 
         PostResponse result = defaultCommunityService.getCommunitiesPosts(token, id);
         assertEquals(0, result.getBody().getData().getPosts().size());
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(postRepository, Mockito.never()).findCommunityPosts(Mockito.any());
     }
 
     @Test
     void testGetCommunitiesPosts_whenValidCommunityIdProvided_ReturnListOfPostsInTheCommunity() {
-        Community community = getCommunity();
-        community.getPosts().add(getPost());
-        community.getPosts().add(getPost());
+        PostSummary likedPost = getPostSummary();
+        PostSummary post = getPostSummary();
         Gamer gamer = getGamer();
-        Gamer owner = getGamer();
-        community.getMembers().add(gamer);
-
-        Mockito.when(jwtService.extractUsername(Mockito.any(String.class))).thenReturn("test");
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
-        Mockito.when(gamerRepository.findById(Mockito.any(String.class))).thenReturn(Optional.of(owner));
-        Mockito.when(avatarsRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(new Avatars()));
+        Mockito.when(membershipIndex.isMember(UUID.fromString(id), gamer.getUserId()))
+                .thenReturn(true);
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(true);
+        Mockito.when(postRepository.findCommunityPosts(UUID.fromString(id))).thenReturn(List.of(likedPost, post));
+        Mockito.when(postRepository.findLikedPostIds(Mockito.anyString(), Mockito.anyCollection()))
+                .thenReturn(Set.of(likedPost.postId()));
+        Mockito.when(avatarCatalog.getImage(likedPost.avatar())).thenReturn("avatar.png");
 
         PostResponse result = defaultCommunityService.getCommunitiesPosts(token, id);
-        assertEquals(2, result.getBody().getData().getPosts().size());
+        List<PostDto> posts = result.getBody().getData().getPosts();
+        assertEquals(2, posts.size());
+        assertEquals(1, posts.stream().filter(PostDto::getIsLiked).count());
+        assertEquals(likedPost.postId().toString(), posts.get(0).getPostId());
+        assertEquals(likedPost.username(), posts.get(0).getUsername());
+        assertEquals("avatar.png", posts.get(0).getAvatar());
+        assertEquals(likedPost.communityName(), posts.get(0).getCommunityName());
+        assertEquals(likedPost.commentCount(), posts.get(0).getCommentCount());
         assertEquals("100", result.getStatus().getCode());
     }
 
+    @Test
+    void testGetCommunitiesPostsEnvelope_whenCommunityNotFound_ReturnErrorCode131() {
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(getGamer()));
+        Mockito.when(communityRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(false);
+
+        BusinessException exception = assertThrows(
+                BusinessException.class, () -> defaultCommunityService.getCommunitiesPostsEnvelope(token, id));
+        assertEquals(131, exception.getTransactionCode().getId());
+    }
+
+    @Test
+    void testStreamCommunitiesPosts_whenManyPosts_LookUpLikesPerChunk() {
+        Gamer gamer = getGamer();
+        List<PostSummary> posts = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            posts.add(getPostSummary());
+        }
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(membershipIndex.isMember(Mockito.any(UUID.class), Mockito.eq(gamer.getUserId())))
+                .thenReturn(true);
+        Mockito.when(postRepository.streamByCommunity(Mockito.any(UUID.class))).thenReturn(posts.stream());
+
+        List<PostDto> streamed = new ArrayList<>();
+        defaultCommunityService.streamCommunitiesPosts(token, id, streamed::add);
+
+        assertEquals(250, streamed.size());
+        assertEquals(posts.get(249).postId().toString(), streamed.get(249).getPostId());
+        Mockito.verify(postRepository, Mockito.times(3)).findLikedPostIds(Mockito.anyString(), Mockito.anyCollection());
+        Mockito.verifyNoInteractions(gamerRepository);
+    }
+
+    @Test
+    void testStreamCommunitiesPosts_whenUserNotMember_StreamNothing() {
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(getGamer()));
+
+        List<PostDto> streamed = new ArrayList<>();
+        defaultCommunityService.streamCommunitiesPosts(token, id, streamed::add);
+
+        assertTrue(streamed.isEmpty());
+        Mockito.verify(postRepository, Mockito.never()).streamByCommunity(Mockito.any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 200})
+    void testGetCommunitiesPosts_whenPostCountGrows_ReadPostsAndAuthorsWithOneQuery(int postCount) {
+        List<PostSummary> posts = new ArrayList<>();
+        for (int i = 0; i < postCount; i++) {
+            posts.add(getPostSummary());
+        }
+        Gamer gamer = getGamer();
+        Mockito.when(membershipIndex.isMember(UUID.fromString(id), gamer.getUserId()))
+                .thenReturn(true);
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.any(String.class)))
+                .thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(true);
+        Mockito.when(postRepository.findCommunityPosts(Mockito.any(UUID.class))).thenReturn(posts);
+
+        PostResponse result = defaultCommunityService.getCommunitiesPosts(token, id);
+        assertEquals(postCount, result.getBody().getData().getPosts().size());
+        Mockito.verify(postRepository, Mockito.times(1)).findCommunityPosts(Mockito.any(UUID.class));
+        Mockito.verify(communityRepository, Mockito.never()).findActiveById(Mockito.any());
+        Mockito.verifyNoInteractions(gamerRepository);
+    }
+
     @Test
     void testGetPostLikes_whenInvalidPostIdProvided_ReturnErrorCode133() {
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(postRepository.findActiveOwner(Mockito.any(UUID.class))).thenReturn(Optional.empty());
 
         BusinessException exception =
-                assertThrows(BusinessException.class, () -> defaultCommunityService.getPostLikes(id));
+                assertThrows(BusinessException.class, () -> defaultCommunityService.getPostLikes(id, null, null));
         assertEquals(133, exception.getTransactionCode().getId());
     }
 
     @Test
     void testGetPostLikes_whenCalledValid_ReturnListOfLikedUsers() {
-        Post post = getPost();
-        Set<Gamer> likes = new HashSet<>();
-        likes.add(getGamer());
-        likes.add(getGamer());
-        post.setLikes(likes);
+        List<MemberSummary> likes = List.of(getMemberSummary(), getMemberSummary());
 
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(postRepository.findActiveOwner(Mockito.any(UUID.class))).thenReturn(Optional.of("test"));
+        Mockito.when(gamerRepository.findPostLikes(Mockito.any(UUID.class), Mockito.anyString(), Mockito.any()))
+                .thenReturn(likes);
 
-        MemberResponse result = defaultCommunityService.getPostLikes(id);
+        MemberResponse result = defaultCommunityService.getPostLikes(id, null, null);
         assertEquals(2, result.getBody().getData().getMembers().size());
         assertEquals("100", result.getStatus().getCode());
     }
 
     @Test
     void testGetCommentLikes_whenInvalidCommentIdProvided_ReturnErrorCode135() {
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(commentRepository.findActiveOwner(Mockito.any(UUID.class))).thenReturn(Optional.empty());
 
         BusinessException exception =
-                assertThrows(BusinessException.class, () -> defaultCommunityService.getCommentLikes(id));
+                assertThrows(BusinessException.class, () -> defaultCommunityService.getCommentLikes(id, null, null));
         assertEquals(135, exception.getTransactionCode().getId());
     }
 
     @Test
     void testGetCommentLikes_whenCalledValid_ReturnListOfLikedUsers() {
-        Comment comment = getComment();
-        Set<Gamer> likes = new HashSet<>();
-        likes.add(getGamer());
-        likes.add(getGamer());
-        comment.setLikes(likes);
+        List<MemberSummary> likes = List.of(getMemberSummary(), getMemberSummary());
 
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
+        Mockito.when(commentRepository.findActiveOwner(Mockito.any(UUID.class))).thenReturn(Optional.of("test"));
+        Mockito.when(gamerRepository.findCommentLikes(Mockito.any(UUID.class), Mockito.anyString(), Mockito.any()))
+                .thenReturn(likes);
 
-        MemberResponse result = defaultCommunityService.getCommentLikes(id);
+        MemberResponse result = defaultCommunityService.getCommentLikes(id, null, null);
         assertEquals(2, result.getBody().getData().getMembers().size());
     }
 
@@ -222,8 +399,8 @@ class DefaultCommunityServiceTest {
         postRequest.setTitle("test");
         postRequest.setPicture("test");
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn("test");
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.createPost(token, postRequest));
@@ -239,9 +416,10 @@ class DefaultCommunityServiceTest {
         postRequest.setTitle("test");
         postRequest.setPicture("test");
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.empty());
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.createPost(token, postRequest));
@@ -258,9 +436,10 @@ class DefaultCommunityServiceTest {
         postRequest.setPicture("test");
         Community community = getCommunity();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.createPost(token, postRequest));
@@ -276,14 +455,17 @@ class DefaultCommunityServiceTest {
         postRequest.setTitle("test");
         postRequest.setPicture("test");
         Community community = getCommunity();
-        community.getMembers().add(gamer);
+        Mockito.when(membershipIndex.isMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(true);
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
 
         DefaultMessageResponse result = defaultCommunityService.createPost(token, postRequest);
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(communityCountersRepository).addPostCount(community.getCommunityId(), 1);
     }
 
     @Test
@@ -295,11 +477,19 @@ class DefaultCommunityServiceTest {
         createCommunityRequest.setWallpaper("test");
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(gamerRepository.findById(gamer.getUserId())).thenReturn(Optional.of(gamer));
 
         DefaultMessageResponse result = defaultCommunityService.createCommunity(token, createCommunityRequest);
         assertEquals("100", result.getStatus().getCode());
+        assertEquals(1, gamer.getOwnedCommunities().size());
+        Mockito.verify(gamerRepository).save(gamer);
+        Mockito.verify(gamerPrincipalCache).evict(gamer.getEmail());
+        ArgumentCaptor<CommunityCounters> saved = ArgumentCaptor.forClass(CommunityCounters.class);
+        Mockito.verify(communityCountersRepository).save(saved.capture());
+        assertEquals(1, saved.getValue().getMemberCount());
+        assertEquals(0, saved.getValue().getPostCount());
     }
 
     @Test
@@ -309,9 +499,9 @@ class DefaultCommunityServiceTest {
         createCommentRequest.setPostId(UUID.randomUUID().toString());
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.createComment(token, createCommentRequest));
@@ -326,13 +516,15 @@ class DefaultCommunityServiceTest {
         Gamer gamer = getGamer();
         Post post = getPost();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
 
         DefaultMessageResponse result = defaultCommunityService.createComment(token, createCommentRequest);
         assertEquals("100", result.getStatus().getCode());
         assertEquals(1, post.getComments().size());
+        assertEquals(post.getPostId(), post.getComments().iterator().next().getPostId());
+        Mockito.verify(postRepository).addCommentCount(post.getPostId(), 1);
     }
 
     @Test
@@ -341,9 +533,10 @@ class DefaultCommunityServiceTest {
         communityRequest.setCommunityId(UUID.randomUUID().toString());
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.empty());
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.deleteCommunity(token, communityRequest));
@@ -357,9 +550,10 @@ class DefaultCommunityServiceTest {
         Gamer gamer = getGamer();
         Community community = getCommunity();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.deleteCommunity(token, communityRequest));
@@ -374,21 +568,24 @@ class DefaultCommunityServiceTest {
         Community community = getCommunity();
         community.setOwner(gamer);
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
 
         DefaultMessageResponse result = defaultCommunityService.deleteCommunity(token, communityRequest);
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(communityRepository).markDeleted(community.getCommunityId());
+        Mockito.verify(communityRepository, Mockito.never()).delete(Mockito.any(Community.class));
     }
 
     @Test
     void testDeletePost_whenPostNotFound_ReturnErrorCode133() {
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.deletePost(token, id));
@@ -401,9 +598,9 @@ class DefaultCommunityServiceTest {
         gamer.setUserId("test2");
         Post post = getPost();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.deletePost(token, id));
@@ -416,21 +613,40 @@ class DefaultCommunityServiceTest {
         Post post = getPost();
         post.setOwner(gamer.getUserId());
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(postRepository.markDeleted(post.getPostId())).thenReturn(1);
 
         DefaultMessageResponse result = defaultCommunityService.deletePost(token, id);
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(postRepository, Mockito.never()).delete(Mockito.any(Post.class));
+        Mockito.verify(communityCountersRepository).addPostCount(Mockito.any(), Mockito.eq(-1));
+    }
+
+    @Test
+    void testDeletePost_whenAlreadyTombstoned_KeepPostCount() {
+        Gamer gamer = getGamer();
+        Post post = getPost();
+        post.setOwner(gamer.getUserId());
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(postRepository.markDeleted(post.getPostId())).thenReturn(0);
+
+        DefaultMessageResponse result = defaultCommunityService.deletePost(token, id);
+        assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(communityCountersRepository, Mockito.never()).addPostCount(Mockito.any(), Mockito.anyInt());
     }
 
     @Test
     void testDeleteComment_whenCommentNotFound_ReturnErrorCode135() {
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(commentRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.deleteComment(token, id));
@@ -443,9 +659,9 @@ class DefaultCommunityServiceTest {
         Gamer gamer = getGamer();
         gamer.setUserId("test2");
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(commentRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.deleteComment(token, id));
@@ -458,12 +674,33 @@ class DefaultCommunityServiceTest {
         Gamer gamer = getGamer();
         comment.setOwner(gamer.getUserId());
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(commentRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
+        Mockito.when(commentRepository.markDeleted(comment.getCommentId())).thenReturn(1);
+        Mockito.when(postRepository.findPostIdByCommentId(comment.getCommentId()))
+                .thenReturn(Optional.of(UUID.randomUUID()));
 
         DefaultMessageResponse result = defaultCommunityService.deleteComment(token, gamer.getUserId());
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(commentRepository, Mockito.never()).delete(Mockito.any(Comment.class));
+        Mockito.verify(postRepository).addCommentCount(Mockito.any(), Mockito.eq(-1));
+    }
+
+    @Test
+    void testDeleteComment_whenAlreadyTombstoned_KeepCommentCount() {
+        Comment comment = getComment();
+        Gamer gamer = getGamer();
+        comment.setOwner(gamer.getUserId());
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(commentRepository.findActiveById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
+        Mockito.when(commentRepository.markDeleted(comment.getCommentId())).thenReturn(0);
+
+        DefaultMessageResponse result = defaultCommunityService.deleteComment(token, gamer.getUserId());
+        assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(postRepository, Mockito.never()).addCommentCount(Mockito.any(), Mockito.anyInt());
     }
 
     @Test
@@ -472,9 +709,10 @@ class DefaultCommunityServiceTest {
         communityRequest.setCommunityId(id);
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.empty());
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.joinCommunity(token, communityRequest));
@@ -487,11 +725,13 @@ class DefaultCommunityServiceTest {
         communityRequest.setCommunityId(id);
         Gamer gamer = getGamer();
         Community community = getCommunity();
-        community.getMembers().add(gamer);
+        Mockito.when(communityRepository.addMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(0);
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.joinCommunity(token, communityRequest));
@@ -505,12 +745,16 @@ class DefaultCommunityServiceTest {
         Gamer gamer = getGamer();
         Community community = getCommunity();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
+        Mockito.when(communityRepository.addMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(1);
 
         DefaultMessageResponse result = defaultCommunityService.joinCommunity(token, communityRequest);
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(communityRepository, Mockito.never()).save(Mockito.any(Community.class));
     }
 
     @Test
@@ -519,9 +763,10 @@ class DefaultCommunityServiceTest {
         communityRequest.setCommunityId(id);
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.empty());
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.leaveCommunity(token, communityRequest));
@@ -535,9 +780,10 @@ class DefaultCommunityServiceTest {
         Gamer gamer = getGamer();
         Community community = getCommunity();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.leaveCommunity(token, communityRequest));
@@ -551,79 +797,144 @@ class DefaultCommunityServiceTest {
         Gamer gamer = getGamer();
         Community community = getCommunity();
         community.setOwner(gamer);
-        community.getMembers().add(gamer);
+        Mockito.when(membershipIndex.isMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(true);
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
 
         BusinessException exception = assertThrows(
                 BusinessException.class, () -> defaultCommunityService.leaveCommunity(token, communityRequest));
         assertEquals(138, exception.getTransactionCode().getId());
     }
 
+    @Test
+    void testLeaveCommunity_whenNoMembershipRemoved_ReturnErrorCode132() {
+        CommunityRequest communityRequest = new CommunityRequest();
+        communityRequest.setCommunityId(id);
+        Gamer gamer = getGamer();
+        Community community = getCommunity();
+        Mockito.when(membershipIndex.isMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(true);
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
+        Mockito.when(communityRepository.removeMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(0);
+
+        BusinessException exception = assertThrows(
+                BusinessException.class, () -> defaultCommunityService.leaveCommunity(token, communityRequest));
+        assertEquals(132, exception.getTransactionCode().getId());
+        Mockito.verify(membershipIndex, Mockito.never()).removed(Mockito.any(UUID.class), Mockito.anyString());
+    }
+
     @Test
     void testLeaveCommunity_whenValid_ReturnSuccess() {
         CommunityRequest communityRequest = new CommunityRequest();
         communityRequest.setCommunityId(id);
         Gamer gamer = getGamer();
         Community community = getCommunity();
-        community.getMembers().add(gamer);
+        Mockito.when(membershipIndex.isMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(true);
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(communityRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(community));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(communityRepository.findActiveById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(community));
+        Mockito.when(communityRepository.removeMember(community.getCommunityId(), gamer.getUserId()))
+                .thenReturn(1);
 
         DefaultMessageResponse result = defaultCommunityService.leaveCommunity(token, communityRequest);
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(communityRepository).removeMember(community.getCommunityId(), gamer.getUserId());
+        Mockito.verify(communityRepository, Mockito.never()).save(Mockito.any(Community.class));
     }
 
     @Test
     void testGetPostComments_whenInvalidPostIdProvided_ReturnErrorCode133() {
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(getGamer()));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(false);
 
-        BusinessException exception =
-                assertThrows(BusinessException.class, () -> defaultCommunityService.getPostComments(id));
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> defaultCommunityService.getPostComments(token, id, CommentSort.NEWEST, null, null));
         assertEquals(133, exception.getTransactionCode().getId());
     }
 
     @Test
-    void testGetPostComments_whenCommentOwnerNotFound_ReturnErrorCode103() {
-        Post post = getPost();
-        post.getComments().add(getComment());
-        post.getComments().add(getComment());
-
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
-        Mockito.when(gamerRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
-
-        BusinessException exception =
-                assertThrows(BusinessException.class, () -> defaultCommunityService.getPostComments(id));
-        assertEquals(103, exception.getTransactionCode().getId());
+    void testGetPostComments_whenValidPostIdProvided_ReturnListOfPostComments() {
+        CommentSummary likedComment = getCommentSummary();
+        Gamer gamer = getGamer();
+        gamer.setUserId("test");
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(true);
+        Mockito.when(commentRepository.findNewest(Mockito.any(UUID.class), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(likedComment, getCommentSummary()));
+        Mockito.when(commentRepository.findLikedCommentIds(Mockito.anyString(), Mockito.anyCollection()))
+                .thenReturn(Set.of(likedComment.commentId()));
+
+        CommentsResponse result = defaultCommunityService.getPostComments(token, id, CommentSort.NEWEST, null, null);
+        List<CommentDto> comments = result.getBody().getData().getComments();
+        assertEquals(2, comments.size());
+        assertEquals(1, comments.stream().filter(CommentDto::getIsLiked).count());
+        assertEquals(likedComment.username(), comments.get(0).getUsername());
+        assertEquals(likedComment.message(), comments.get(0).getMessage());
+        assertEquals("100", result.getStatus().getCode());
+        Mockito.verifyNoInteractions(gamerRepository);
     }
 
     @Test
-    void testGetPostComments_whenValidPostIdProvided_ReturnListOfPostComments() {
-        Post post = getPost();
-        post.getComments().add(getComment());
-        post.getComments().add(getComment());
+    void testGetPostComments_whenMostLikedCursorProvided_ReturnNextPageAndCursor() {
         Gamer gamer = getGamer();
-
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
-        Mockito.when(gamerRepository.findById(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(avatarsRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(new Avatars()));
-
-        CommentsResponse result = defaultCommunityService.getPostComments(id);
+        gamer.setUserId("test");
+        List<CommentSummary> comments = List.of(getCommentSummary(), getCommentSummary(), getCommentSummary());
+        Date createdDate = new Date();
+        String cursor = PageCursor.encode(5, createdDate.toInstant(), UUID.randomUUID());
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(true);
+        Mockito.when(commentRepository.findMostLikedAfter(
+                        Mockito.any(UUID.class),
+                        Mockito.eq(5),
+                        Mockito.eq(createdDate),
+                        Mockito.any(UUID.class),
+                        Mockito.any(Pageable.class)))
+                .thenReturn(comments);
+
+        CommentsResponse result = defaultCommunityService.getPostComments(token, id, CommentSort.MOST_LIKED, cursor, 2);
         assertEquals(2, result.getBody().getData().getComments().size());
-        assertEquals("100", result.getStatus().getCode());
+        String[] keys = PageCursor.decode(result.getBody().getData().getNextCursor(), 3);
+        assertEquals(comments.get(1).commentId().toString(), keys[2]);
+    }
+
+    @Test
+    void testGetPostComments_whenCursorMalformed_ThrowInvalidCursor() {
+        String cursor = PageCursor.encode("many", new Date().toInstant(), UUID.randomUUID());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn("test");
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(getGamer()));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(true);
+
+        assertThrows(
+                InvalidCursorException.class,
+                () -> defaultCommunityService.getPostComments(token, id, CommentSort.MOST_LIKED, cursor, null));
+        Mockito.verifyNoInteractions(commentRepository);
     }
 
     @Test
     void testLikePost_whenPostNotFound_ReturnErrorCode133() {
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(false);
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.likePost(token, id));
@@ -633,12 +944,12 @@ class DefaultCommunityServiceTest {
     @Test
     void testLikePost_whenUserAlreadyLiked_ReturnErrorCode139() {
         Gamer gamer = getGamer();
-        Post post = getPost();
-        post.getLikes().add(gamer);
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(true);
+        Mockito.when(postRepository.like(Mockito.any(UUID.class), Mockito.anyString()))
+                .thenReturn(0);
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.likePost(token, id));
@@ -648,23 +959,62 @@ class DefaultCommunityServiceTest {
     @Test
     void testLikePost_whenValid_ReturnSuccess() {
         Gamer gamer = getGamer();
-        Post post = getPost();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(postRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(post));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(true);
+        Mockito.when(postRepository.like(Mockito.any(UUID.class), Mockito.anyString()))
+                .thenReturn(1);
 
         DefaultMessageResponse result = defaultCommunityService.likePost(token, id);
         assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(postRepository, Mockito.never()).findById(Mockito.any(UUID.class));
+        Mockito.verify(postRepository, Mockito.never()).save(Mockito.any(Post.class));
+    }
+
+    @Test
+    void testLikePost_whenBufferEnabled_BufferInsteadOfWriting() {
+        Gamer gamer = getGamer();
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(true);
+        Mockito.when(postLikeBuffer.isEnabled()).thenReturn(true);
+        Mockito.when(postLikeBuffer.like(Mockito.any(UUID.class), Mockito.anyString(), Mockito.any()))
+                .thenReturn(PostLikeBuffer.Outcome.UNCHANGED);
+
+        BusinessException exception =
+                assertThrows(BusinessException.class, () -> defaultCommunityService.likePost(token, id));
+        assertEquals(139, exception.getTransactionCode().getId());
+        Mockito.verify(postRepository, Mockito.never()).like(Mockito.any(UUID.class), Mockito.anyString());
+    }
+
+    @Test
+    void testLikePost_whenBufferFull_WriteThroughRepository() {
+        Gamer gamer = getGamer();
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.existsActiveById(Mockito.any(UUID.class))).thenReturn(true);
+        Mockito.when(postLikeBuffer.isEnabled()).thenReturn(true);
+        Mockito.when(postLikeBuffer.like(Mockito.any(UUID.class), Mockito.anyString(), Mockito.any()))
+                .thenReturn(PostLikeBuffer.Outcome.FULL);
+        Mockito.when(postRepository.like(UUID.fromString(id), gamer.getUserId()))
+                .thenReturn(1);
+
+        DefaultMessageResponse result = defaultCommunityService.likePost(token, id);
+        assertEquals("100", result.getStatus().getCode());
+        Mockito.verify(postRepository).like(UUID.fromString(id), gamer.getUserId());
     }
 
     @Test
     void testLikeComment_whenCommentNotFound_ReturnErrorCode135() {
         Gamer gamer = getGamer();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.empty());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(commentRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(false);
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.likeComment(token, id));
@@ -674,12 +1024,13 @@ class DefaultCommunityServiceTest {
     @Test
     void testLikeComment_whenUserAlreadyLiked_ReturnErrorCode139() {
         Gamer gamer = getGamer();
-        Comment comment = getComment();
-        comment.getLikes().add(gamer);
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(commentRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(true);
+        Mockito.when(commentRepository.like(Mockito.any(UUID.class), Mockito.anyString()))
+                .thenReturn(0);
 
         BusinessException exception =
                 assertThrows(BusinessException.class, () -> defaultCommunityService.likeComment(token, id));
@@ -689,11 +1040,13 @@ class DefaultCommunityServiceTest {
     @Test
     void testLikeComment_whenValid_ReturnSuccess() {
         Gamer gamer = getGamer();
-        Comment comment = getComment();
 
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(commentRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(comment));
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(commentRepository.existsActiveById(Mockito.any(UUID.class)))
+                .thenReturn(true);
+        Mockito.when(commentRepository.like(Mockito.any(UUID.class), Mockito.anyString()))
+                .thenReturn(1);
 
         DefaultMessageResponse result = defaultCommunityService.likeComment(token, id);
         assertEquals("100", result.getStatus().getCode());
@@ -702,27 +1055,216 @@ class DefaultCommunityServiceTest {
     @Test
     void testGetJoinedCommunitiesPosts_whenValid_ReturnPosts() {
         Gamer gamer = getGamer();
-        Set<Community> communities = new HashSet<>();
-        Community community = getCommunity();
-        community.getMembers().add(gamer);
-        Community community2 = getCommunity();
-        community2.getMembers().add(gamer);
-        communities.add(community);
-        communities.add(community2);
-        gamer.setJoinedCommunities(communities);
-        Post post = getPost();
-        post.setCommunity(community);
-        community.getPosts().add(post);
-        Mockito.when(jwtService.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
-        Mockito.when(gamerRepository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(gamerRepository.findById(Mockito.anyString())).thenReturn(Optional.of(gamer));
-        Mockito.when(avatarsRepository.findById(Mockito.any(UUID.class))).thenReturn(Optional.of(new Avatars()));
-
-        PostResponse result = defaultCommunityService.getJoinedCommunitiesPosts(token);
+        gamer.setUserId("test");
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findJoinedFeed(Mockito.anyString(), Mockito.anyInt()))
+                .thenReturn(List.of(getPostSummary()));
+
+        PostResponse result = defaultCommunityService.getJoinedCommunitiesPosts(token, null, null);
         assertEquals(1, result.getBody().getData().getPosts().size());
+        assertNull(result.getBody().getData().getNextCursor());
         assertEquals("100", result.getStatus().getCode());
     }
 
+    @Test
+    void testGetJoinedCommunitiesPosts_whenMorePostsThanPageSize_ReturnCursorOfLastPost() {
+        Gamer gamer = getGamer();
+        gamer.setUserId("test");
+        List<PostSummary> posts = List.of(getPostSummary(), getPostSummary(), getPostSummary());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findJoinedFeedAfter(
+                        Mockito.anyString(), Mockito.any(Date.class), Mockito.any(UUID.class), Mockito.anyInt()))
+                .thenReturn(posts);
+
+        String cursor = PageCursor.encode(new Date().toInstant(), UUID.randomUUID());
+        PostResponse result = defaultCommunityService.getJoinedCommunitiesPosts(token, cursor, 2);
+        assertEquals(2, result.getBody().getData().getPosts().size());
+        String[] keys = PageCursor.decode(result.getBody().getData().getNextCursor(), 2);
+        assertEquals(posts.get(1).createdDate().toInstant().toString(), keys[0]);
+        assertEquals(posts.get(1).postId().toString(), keys[1]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not-a-cursor!", "bm90LWEtZGF0ZXxub3QtYS11dWlk", "b25seS1vbmUta2V5"})
+    void testGetJoinedCommunitiesPosts_whenCursorMalformed_ThrowInvalidCursor(String cursor) {
+        Gamer gamer = getGamer();
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+
+        assertThrows(
+                InvalidCursorException.class,
+                () -> defaultCommunityService.getJoinedCommunitiesPosts(token, cursor, null));
+        Mockito.verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void testGetJoinedCommunitiesPosts_whenTimelineEnabled_ReadMaterializedTimeline() {
+        Gamer gamer = getGamer();
+        gamer.setUserId("test");
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(homeTimeline.isEnabled()).thenReturn(true);
+        Mockito.when(homeTimeline.readPage("test", null, null, PageCursor.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of(getPostSummary()));
+
+        PostResponse result = defaultCommunityService.getJoinedCommunitiesPosts(token, null, null);
+        assertEquals(1, result.getBody().getData().getPosts().size());
+        Mockito.verify(postRepository, Mockito.never()).findJoinedFeed(Mockito.anyString(), Mockito.anyInt());
+    }
+
+    @Test
+    void testGetCommunitiesPostsVersion_whenCommunityNotFound_ReturnErrorCode131() {
+        Gamer gamer = getGamer();
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findCommunityPostsVersion(Mockito.any(UUID.class), Mockito.anyString()))
+                .thenReturn(Optional.empty());
+
+        BusinessException exception = assertThrows(
+                BusinessException.class, () -> defaultCommunityService.getCommunitiesPostsVersion(token, id));
+        assertEquals(131, exception.getTransactionCode().getId());
+    }
+
+    @Test
+    void testGetCommunitiesPostsVersion_whenStampOrMembershipChanges_ReturnDifferentTag() {
+        Gamer gamer = getGamer();
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findCommunityPostsVersion(Mockito.any(UUID.class), Mockito.anyString()))
+                .thenReturn(Optional.of("2:2023-06-01:3:1:0"))
+                .thenReturn(Optional.of("2:2023-06-01:3:1:0"))
+                .thenReturn(Optional.of("2:2023-06-01:4:1:0"));
+        Mockito.when(membershipIndex.isMember(Mockito.any(UUID.class), Mockito.anyString()))
+                .thenReturn(true, true, true, false);
+
+        String first = defaultCommunityService.getCommunitiesPostsVersion(token, id);
+        assertEquals(first, defaultCommunityService.getCommunitiesPostsVersion(token, id));
+        String afterLike = defaultCommunityService.getCommunitiesPostsVersion(token, id);
+        assertNotEquals(first, afterLike);
+        assertNotEquals(afterLike, defaultCommunityService.getCommunitiesPostsVersion(token, id));
+    }
+
+    @Test
+    void testGetJoinedCommunitiesPostsVersion_whenLikeIsBuffered_ReturnDifferentTag() {
+        Gamer gamer = getGamer();
+        PostSummary post = getPostSummary();
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findJoinedFeed(gamer.getUserId(), PageCursor.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of(post));
+        Mockito.when(postLikeBuffer.isEnabled()).thenReturn(true);
+        Mockito.when(postLikeBuffer.pendingDelta(post.postId())).thenReturn(0, 1);
+
+        String beforeLike = defaultCommunityService.getJoinedCommunitiesPostsVersion(token, null, null);
+
+        assertNotEquals(beforeLike, defaultCommunityService.getJoinedCommunitiesPostsVersion(token, null, null));
+    }
+
+    @Test
+    void testGetJoinedCommunitiesPostsVersion_whenCountersMoveBetweenPageRows_ReturnDifferentTag() {
+        Gamer gamer = getGamer();
+        PostSummary first = getPostSummary();
+        PostSummary second = getPostSummary();
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findJoinedFeed(gamer.getUserId(), PageCursor.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of(withCounters(first, 1, 0), withCounters(second, 0, 1)))
+                .thenReturn(List.of(withCounters(first, 0, 1), withCounters(second, 1, 0)));
+
+        String before = defaultCommunityService.getJoinedCommunitiesPostsVersion(token, null, null);
+
+        assertNotEquals(before, defaultCommunityService.getJoinedCommunitiesPostsVersion(token, null, null));
+        Mockito.verify(postRepository, Mockito.times(2))
+                .findLikedPostIds(gamer.getUserId(), List.of(first.postId(), second.postId()));
+    }
+
+    @Test
+    void testGetJoinedCommunitiesPostsVersion_whenPageDiffers_ReturnDifferentTag() {
+        Gamer gamer = getGamer();
+        PostSummary post = getPostSummary();
+        String cursor = PageCursor.encode(new Date().toInstant(), UUID.randomUUID());
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findJoinedFeed(gamer.getUserId(), PageCursor.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of(post));
+        Mockito.when(postRepository.findJoinedFeedAfter(
+                        Mockito.eq(gamer.getUserId()),
+                        Mockito.any(Date.class),
+                        Mockito.any(UUID.class),
+                        Mockito.eq(PageCursor.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(post));
+
+        String firstPage = defaultCommunityService.getJoinedCommunitiesPostsVersion(token, null, null);
+        assertEquals(firstPage, defaultCommunityService.getJoinedCommunitiesPostsVersion(token, null, 20));
+        assertNotEquals(firstPage, defaultCommunityService.getJoinedCommunitiesPostsVersion(token, cursor, null));
+    }
+
+    @Test
+    void testBatchLike_whenMixedItems_ApplySetBasedAndReturnPerItemCodes() {
+        Gamer gamer = getGamer();
+        UUID newLike = UUID.randomUUID();
+        UUID alreadyLiked = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID unliked = UUID.randomUUID();
+        UUID comment = UUID.randomUUID();
+        BatchLikeRequest batchLikeRequest = new BatchLikeRequest();
+        batchLikeRequest.setItems(List.of(
+                likeItem(LikeTarget.POST, newLike.toString(), LikeOperation.LIKE),
+                likeItem(LikeTarget.POST, alreadyLiked.toString(), LikeOperation.LIKE),
+                likeItem(LikeTarget.POST, missing.toString(), LikeOperation.LIKE),
+                likeItem(LikeTarget.POST, unliked.toString(), LikeOperation.UNLIKE),
+                likeItem(LikeTarget.POST, "not-a-uuid", LikeOperation.LIKE),
+                likeItem(LikeTarget.COMMENT, comment.toString(), LikeOperation.LIKE)));
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findExistingIds(Mockito.anyCollection()))
+                .thenReturn(Set.of(newLike, alreadyLiked, unliked));
+        Mockito.when(postRepository.likeAll(gamer.getUserId(), List.of(newLike, alreadyLiked)))
+                .thenReturn(Set.of(newLike));
+        Mockito.when(commentRepository.findExistingIds(Mockito.anyCollection())).thenReturn(Set.of(comment));
+        Mockito.when(commentRepository.likeAll(gamer.getUserId(), List.of(comment)))
+                .thenReturn(Set.of(comment));
+
+        BatchLikeResponse result = defaultCommunityService.batchLike(token, batchLikeRequest);
+
+        List<Integer> codes = result.getBody().getData().getResults().stream()
+                .map(LikeResultDto::getCode)
+                .toList();
+        assertEquals(List.of(100, 139, 133, 100, 133, 100), codes);
+        Mockito.verify(postRepository).unlikeAll(gamer.getUserId(), List.of(unliked));
+        Mockito.verify(postRepository, Mockito.never()).like(Mockito.any(UUID.class), Mockito.anyString());
+    }
+
+    @Test
+    void testBatchLike_whenSameTargetSentTwice_ApplyLastOperation() {
+        Gamer gamer = getGamer();
+        UUID postId = UUID.randomUUID();
+        BatchLikeRequest batchLikeRequest = new BatchLikeRequest();
+        batchLikeRequest.setItems(List.of(
+                likeItem(LikeTarget.POST, postId.toString(), LikeOperation.LIKE),
+                likeItem(LikeTarget.POST, postId.toString(), LikeOperation.UNLIKE)));
+
+        Mockito.when(verifiedTokenCache.extractUsername(Mockito.anyString())).thenReturn(gamer.getEmail());
+        Mockito.when(gamerPrincipalCache.findByEmail(Mockito.anyString())).thenReturn(Optional.of(gamer));
+        Mockito.when(postRepository.findExistingIds(Mockito.anyCollection())).thenReturn(Set.of(postId));
+
+        defaultCommunityService.batchLike(token, batchLikeRequest);
+
+        Mockito.verify(postRepository).unlikeAll(gamer.getUserId(), List.of(postId));
+        Mockito.verify(postRepository, Mockito.never()).likeAll(Mockito.anyString(), Mockito.anyCollection());
+    }
+
+    private LikeItemRequest likeItem(LikeTarget target, String id, LikeOperation operation) {
+        LikeItemRequest item = new LikeItemRequest();
+        item.setTarget(target);
+        item.setId(id);
+        item.setOperation(operation);
+        return item;
+    }
+
     private Community getCommunity() {
         Community community = new Community();
         community.setCommunityId(UUID.randomUUID());
@@ -765,6 +1307,44 @@ class DefaultCommunityServiceTest {
         return comment;
     }
 
+    private static PostSummary withCounters(PostSummary post, int likeCount, int commentCount) {
+        return new PostSummary(
+                post.postId(),
+                post.username(),
+                post.avatar(),
+                post.communityName(),
+                post.title(),
+                post.body(),
+                post.picture(),
+                post.createdDate(),
+                post.updatedDate(),
+                likeCount,
+                commentCount);
+    }
+
+    private PostSummary getPostSummary() {
+        return new PostSummary(
+                UUID.randomUUID(),
+                "test",
+                UUID.randomUUID(),
+                "test",
+                "test",
+                "test",
+                "test",
+                new Date(),
+                new Date(),
+                0,
+                0);
+    }
+
+    private CommentSummary getCommentSummary() {
+        return new CommentSummary(UUID.randomUUID(), "test", UUID.randomUUID(), "test", 0, new Date(), new Date());
+    }
+
+    private MemberSummary getMemberSummary() {
+        return new MemberSummary(UUID.randomUUID().toString(), "test", UUID.randomUUID());
+    }
+
     private Gamer getGamer() {
         Gamer gamer = new Gamer();
         gamer.setUserId(UUID.randomUUID().toString());
@@ -0,0 +1,147 @@
+package com.back2261.communityservice.domain.timeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.back2261.communityservice.infrastructure.entity.Community;
+import com.back2261.communityservice.infrastructure.entity.Post;
+import com.back2261.communityservice.infrastructure.projection.PostSummary;
+import com.back2261.communityservice.infrastructure.repository.CommunityCountersRepository;
+import com.back2261.communityservice.infrastructure.repository.PostRepository;
+import com.back2261.communityservice.infrastructure.repository.TimelineRepository;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HomeTimelineTest {
+
+    @Mock
+    private TimelineRepository timelineRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommunityCountersRepository communityCountersRepository;
+
+    @Test
+    void testPostCreated_whenCommunityBelowFanOutLimit_FanOutToMembers() {
+        HomeTimeline homeTimeline = homeTimeline(true);
+        Post post = getPost(community(), 1000);
+        Mockito.when(communityCountersRepository.findMemberCount(
+                        post.getCommunity().getCommunityId()))
+                .thenReturn(Optional.of(10));
+
+        homeTimeline.postCreated(post);
+
+        assertTrue(post.getFannedOut());
+        Mockito.verify(postRepository).flush();
+        Mockito.verify(timelineRepository).fanOut(post.getPostId());
+    }
+
+    @Test
+    void testPostCreated_whenCommunityAboveFanOutLimit_SkipFanOut() {
+        HomeTimeline homeTimeline = homeTimeline(true);
+        Post post = getPost(community(), 1000);
+        Mockito.when(communityCountersRepository.findMemberCount(
+                        post.getCommunity().getCommunityId()))
+                .thenReturn(Optional.of(101));
+
+        homeTimeline.postCreated(post);
+
+        assertFalse(post.getFannedOut());
+        Mockito.verifyNoInteractions(timelineRepository);
+    }
+
+    @Test
+    void testMemberJoined_whenCommunityAboveFanOutLimit_BackfillFannedOutPosts() {
+        HomeTimeline homeTimeline = homeTimeline(true);
+        Community community = community();
+
+        homeTimeline.memberJoined("test", community);
+
+        Mockito.verify(timelineRepository).backfill("test", community.getCommunityId(), 500);
+    }
+
+    @Test
+    void testPostCreated_whenDisabled_SkipFanOut() {
+        HomeTimeline homeTimeline = homeTimeline(false);
+
+        homeTimeline.postCreated(getPost(community(), 1000));
+        homeTimeline.memberJoined("test", community());
+
+        Mockito.verifyNoInteractions(timelineRepository);
+    }
+
+    @Test
+    void testReadPage_whenPostsWereNotFannedOut_MergeNewestFirstWithoutDuplicates() {
+        HomeTimeline homeTimeline = homeTimeline(true);
+        PostSummary newest = getPostSummary(3000);
+        PostSummary shared = getPostSummary(2000);
+        PostSummary oldest = getPostSummary(1000);
+        Mockito.when(timelineRepository.findTimeline(Mockito.eq("test"), Mockito.any()))
+                .thenReturn(List.of(newest, shared, oldest));
+        Mockito.when(postRepository.findJoinedFeedNotFannedOut("test", 2)).thenReturn(List.of(shared));
+
+        List<PostSummary> page = homeTimeline.readPage("test", null, null, 2);
+
+        assertEquals(List.of(newest, shared), page);
+    }
+
+    @Test
+    void testReadPage_whenOlderPostWasEdited_KeepPostedOrder() {
+        HomeTimeline homeTimeline = homeTimeline(true);
+        PostSummary fannedOut = getPostSummary(2000);
+        PostSummary edited = getPostSummary(1000, 5000);
+        Mockito.when(timelineRepository.findTimeline(Mockito.eq("test"), Mockito.any()))
+                .thenReturn(List.of(fannedOut));
+        Mockito.when(postRepository.findJoinedFeedNotFannedOut("test", 2)).thenReturn(List.of(edited));
+
+        List<PostSummary> page = homeTimeline.readPage("test", null, null, 2);
+
+        assertEquals(List.of(fannedOut, edited), page);
+    }
+
+    private HomeTimeline homeTimeline(boolean enabled) {
+        return new HomeTimeline(timelineRepository, postRepository, communityCountersRepository, enabled, 100, 500);
+    }
+
+    private static Community community() {
+        Community community = new Community();
+        community.setCommunityId(UUID.randomUUID());
+        return community;
+    }
+
+    private static Post getPost(Community community, long updatedAt) {
+        Post post = new Post();
+        post.setPostId(UUID.randomUUID());
+        post.setCommunity(community);
+        post.setUpdatedDate(new Date(updatedAt));
+        return post;
+    }
+
+    private static PostSummary getPostSummary(long postedAt) {
+        return getPostSummary(postedAt, postedAt);
+    }
+
+    private static PostSummary getPostSummary(long postedAt, long updatedAt) {
+        return new PostSummary(
+                UUID.randomUUID(),
+                "test",
+                UUID.randomUUID(),
+                "test",
+                "test",
+                "test",
+                null,
+                new Date(postedAt),
+                new Date(updatedAt),
+                0,
+                0);
+    }
+}
@@ -0,0 +1,43 @@
+package com.back2261.communityservice.infrastructure.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void testNext_whenCalled_ReturnVersion7WithIetfVariant() {
+        UUID id = TimeOrderedUuid.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void testNext_whenCalled_EncodeCurrentTimeInPrefix() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuid.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before);
+        // a counter overflow may push the timestamp slightly ahead
+        assertTrue(millis <= after + 1);
+    }
+
+    @Test
+    void testNext_whenCalledInTightLoop_ReturnStrictlyIncreasingIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(TimeOrderedUuid.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+    }
+}